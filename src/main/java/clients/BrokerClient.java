@@ -1,10 +1,23 @@
 package clients;
 
 import clients.base.kafka.interfaces.IBroker;
+import clients.base.kafka.model.ProducerRecordSpec;
+import clients.base.kafka.model.SendResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.header.Header;
 import utils.ZipkinTracer;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static config.PropsConfig.getProps;
 
 public abstract class BrokerClient {
 
@@ -27,6 +40,51 @@ public abstract class BrokerClient {
     }
   }
 
+  public CompletableFuture<RecordMetadata> sendMessageAsync(
+    String url, String topic, String key, List<Header> headers, String message) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.sendMessageAsync");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+      ZipkinTracer.addTag("key", key);
+
+      return broker.sendMessageAsync(url, topic, key, headers, message);
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  public List<SendResult> sendMessages(String url, String topic, List<ProducerRecordSpec> records) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.sendMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+      ZipkinTracer.addTag("records", String.valueOf(records.size()));
+
+      List<SendResult> results = broker.sendMessages(url, topic, records);
+      LongSummaryStatistics latency = results.stream()
+        .mapToLong(result -> result.latency().toMillis())
+        .summaryStatistics();
+      ZipkinTracer.addTag("avgLatencyMs", String.valueOf(latency.getAverage()));
+      ZipkinTracer.addTag("maxLatencyMs", String.valueOf(latency.getMax()));
+      ZipkinTracer.addTag("failed", String.valueOf(results.stream().filter(SendResult::isFailed).count()));
+      return results;
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  public void flush(String url) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.flush");
+    try {
+      ZipkinTracer.addTag("url", url);
+
+      broker.flush(url);
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
   public List<String> getMessages(String url, String topic, String id) {
     String spanId = ZipkinTracer.startSpan("BrokerClient.getMessages");
     try {
@@ -39,4 +97,125 @@ public abstract class BrokerClient {
       ZipkinTracer.endSpan(spanId);
     }
   }
+
+  public List<String> getMessages(String url, String topic, String key, String id) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.getMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+      ZipkinTracer.addTag("key", key);
+      ZipkinTracer.addTag("id", id);
+
+      return broker.getMessages(url, topic, key, id);
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  public List<String> getMessages(String url, String topic, String id, Instant since) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.getMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+      ZipkinTracer.addTag("id", id);
+      ZipkinTracer.addTag("since", String.valueOf(since));
+
+      return broker.getMessages(url, topic, id, since);
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  public List<String> getMessages(String url, String topic, String key, String id, Instant since) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.getMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+      ZipkinTracer.addTag("key", key);
+      ZipkinTracer.addTag("id", id);
+      ZipkinTracer.addTag("since", String.valueOf(since));
+
+      return broker.getMessages(url, topic, key, id, since);
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  /**
+   * Lazily read records as they arrive for at most CONSUMER_POOL_DURATION. The stream must be closed.
+   *
+   * @param since earliest record timestamp to read, or null to read from the beginning
+   */
+  public Stream<ConsumerRecord<String, String>> streamMessages(String url, String topic, Instant since) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.streamMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+
+      return broker.streamMessages(url, topic, since, Duration.ofMillis(getProps().consumerPoolDuration()));
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  /**
+   * Lazily read records as they arrive for at most the given time. The stream must be closed.
+   *
+   * @param since earliest record timestamp to read, or null to read from the beginning
+   * @param timeout time after which the stream ends
+   */
+  public Stream<ConsumerRecord<String, String>> streamMessages(String url, String topic, Instant since, Duration timeout) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.streamMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+      ZipkinTracer.addTag("timeout", timeout.toString());
+
+      return broker.streamMessages(url, topic, since, timeout);
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  /**
+   * Read messages until count of them match the filter or CONSUMER_POOL_DURATION passes
+   *
+   * @param since earliest record timestamp to read, or null to read from the beginning
+   * @param filter condition on the message value
+   * @param count number of matching messages to wait for
+   * @return matching messages, fewer than count if the time ran out
+   */
+  public List<String> awaitMessages(String url, String topic, Instant since, Predicate<String> filter, int count) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.awaitMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+      ZipkinTracer.addTag("count", String.valueOf(count));
+
+      try (Stream<ConsumerRecord<String, String>> records =
+             broker.streamMessages(url, topic, since, Duration.ofMillis(getProps().consumerPoolDuration()))) {
+        return records.map(ConsumerRecord::value).filter(Objects::nonNull).filter(filter).limit(count).toList();
+      }
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
+
+  /**
+   * Read the whole topic up to its current end in parallel, one virtual thread per partition.
+   * The stream must be closed.
+   *
+   * @param since earliest record timestamp to read, or null to read from the beginning
+   */
+  public Stream<ConsumerRecord<String, String>> drainMessages(String url, String topic, Instant since) {
+    String spanId = ZipkinTracer.startSpan("BrokerClient.drainMessages");
+    try {
+      ZipkinTracer.addTag("url", url);
+      ZipkinTracer.addTag("topic", topic);
+
+      return broker.drainMessages(url, topic, since, Duration.ofMillis(getProps().testConfigTimeOut()));
+    } finally {
+      ZipkinTracer.endSpan(spanId);
+    }
+  }
 }
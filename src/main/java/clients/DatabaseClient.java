@@ -1,8 +1,14 @@
 package clients;
 
 import clients.base.db.interfaces.IDatabase;
+import clients.base.db.model.NamedQuery;
+import clients.base.db.model.PoolMetrics;
+import clients.base.db.model.EstimatedStatementCacheMetrics;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static config.PropsConfig.getProps;
 
 public abstract class DatabaseClient {
 
@@ -16,7 +22,80 @@ public abstract class DatabaseClient {
     return database.getListData(url, user, password, entityClass, query);
   }
 
+  /**
+   * Run a query with bind parameters, the statement is prepared once per connection and reused
+   */
+  public <T> List<T> getListData(String url, String user, String password, Class<T> entityClass, NamedQuery query,
+                                 Object... params) {
+    return database.getListData(url, user, password, entityClass, query, params);
+  }
+
+  /**
+   * Lazily read the rows of a query, fetchSize rows at a time. The stream must be closed.
+   */
+  public <T> Stream<T> streamData(String url, String user, String password, Class<T> entityClass, String query,
+                                  int fetchSize) {
+    return database.streamData(url, user, password, entityClass, query, fetchSize);
+  }
+
   public void setData(String url, String user, String password, String query) {
     database.setData(url, user, password, query);
   }
+
+  /**
+   * Run a statement with bind parameters, the statement is prepared once per connection and reused
+   *
+   * @return number of affected rows
+   */
+  public int setData(String url, String user, String password, NamedQuery query, Object... params) {
+    return database.setData(url, user, password, query, params);
+  }
+
+  /**
+   * Execute a parameterized statement once per row in JDBC batches of DB_BATCH_SIZE rows
+   *
+   * @return number of rows sent
+   */
+  public long setBatchData(String url, String user, String password, String query, Stream<Object[]> rows) {
+    return setBatchData(url, user, password, query, rows, getProps().dbBatchSize());
+  }
+
+  /**
+   * @param batchSize number of rows per JDBC batch, greater than zero
+   * @return number of rows sent
+   */
+  public long setBatchData(String url, String user, String password, String query, Stream<Object[]> rows, int batchSize) {
+    return database.setBatchData(url, user, password, query, rows, batchSize);
+  }
+
+  /**
+   * Load data with COPY ... FROM STDIN, the chunks are sent as they are in the format of the COPY statement
+   *
+   * @return number of copied rows
+   */
+  public long copyData(String url, String user, String password, String copyQuery, Stream<byte[]> data) {
+    return database.copyData(url, user, password, copyQuery, data);
+  }
+
+  /**
+   * Load CSV lines into a table with COPY ... FROM STDIN
+   *
+   * @param table table name, optionally schema-qualified; it is quoted, so it must match the case of the table
+   *
+   * @return number of copied rows
+   */
+  public long copyCsvData(String url, String user, String password, String table, Stream<String> lines) {
+    return database.copyCsvData(url, user, password, table, lines);
+  }
+
+  public PoolMetrics poolMetrics(String url, String user) {
+    return database.poolMetrics(url, user);
+  }
+
+  /**
+   * Client-side estimate of the prepared statement cache hits of named queries, not read from the server
+   */
+  public EstimatedStatementCacheMetrics estimatedStatementCacheMetrics(String url, String user) {
+    return database.estimatedStatementCacheMetrics(url, user);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package clients;
+
+import clients.base.kafka.interfaces.IBroker;
+import clients.base.kafka.model.LatencySummary;
+import clients.base.kafka.model.LoadReport;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static config.PropsConfig.getProps;
+import static constants.KafkaAttributes.LOAD_RUN_ID;
+import static constants.KafkaAttributes.REQUEST_ID;
+import static constants.KafkaAttributes.SEND_TIMESTAMP;
+
+/**
+ * Open-loop load generator for Kafka topics.
+ * Records are sent on a fixed schedule whatever the acknowledgement latency is, and every latency
+ * is measured from the scheduled send time, so a stalled broker shows up in the percentiles instead
+ * of silently lowering the rate (no coordinated omission).
+ * Each record carries the scheduled send time in the sendTimestamp header (epoch microseconds)
+ * and the id of the run in the loadRunId header; the service under test is expected to copy both
+ * to its output record. Only output records of the current run are counted.
+ * Records are sent through the broker directly, without the per-call spans and logging of BrokerClient.
+ */
+@Slf4j
+public class KafkaLoadGenerator {
+
+  private final IBroker broker;
+
+  /**
+   * @param broker broker used to send and read the records
+   */
+  public KafkaLoadGenerator(IBroker broker) {
+    this.broker = broker;
+  }
+
+  /**
+   * Produce to the input topic at a fixed rate and measure produce-to-consume latency on the output topic
+   *
+   * @param url cluster url
+   * @param inputTopic topic to produce to, e.g. BrokerName.T_GATEWAY_IN
+   * @param outputTopic topic the service writes its results to, or null to measure acknowledgements only
+   * @param ratePerSecond target send rate, greater than zero
+   * @param duration length of the send phase, at least one second
+   * @param payload message value for a requestId
+   * @return achieved throughput and latency percentiles
+   * @throws IllegalArgumentException if an argument is missing or out of range
+   */
+  public LoadReport run(
+    String url,
+    String inputTopic,
+    String outputTopic,
+    int ratePerSecond,
+    Duration duration,
+    Function<String, String> payload
+  ) {
+    if (url == null || inputTopic == null || payload == null) {
+      throw new IllegalArgumentException("url, inputTopic and payload are required");
+    }
+    if (ratePerSecond <= 0) {
+      throw new IllegalArgumentException("ratePerSecond must be greater than zero: " + ratePerSecond);
+    }
+    if (duration == null || duration.toSeconds() < 1) {
+      throw new IllegalArgumentException("duration must be at least one second: " + duration);
+    }
+    long total = (long) ratePerSecond * duration.toMillis() / 1000;
+    byte[] runId = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+    Histogram ackLatency = new ConcurrentHistogram(3);
+    Histogram endToEndLatency = new ConcurrentHistogram(3);
+    AtomicLong failed = new AtomicLong();
+    AtomicLong received = new AtomicLong();
+
+    Instant startedAt = Instant.now();
+    Thread reader = outputTopic == null ? null : Thread.ofVirtual().name("kafka-load-reader").start(() ->
+      read(url, outputTopic, runId, startedAt, duration, total, endToEndLatency, received));
+
+    long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+    long start = System.nanoTime();
+    long startMicros = toMicros(startedAt);
+    for (long i = 0; i < total; i++) {
+      long scheduled = start + i * interval;
+      long delay = scheduled - System.nanoTime();
+      if (delay > 0) {
+        LockSupport.parkNanos(delay);
+      }
+      String requestId = UUID.randomUUID().toString();
+      List<Header> headers = List.of(
+        new RecordHeader(REQUEST_ID, requestId.getBytes()),
+        new RecordHeader(LOAD_RUN_ID, runId),
+        new RecordHeader(SEND_TIMESTAMP, ByteBuffer.allocate(Long.BYTES).putLong(startMicros + (scheduled - start) / 1000).array())
+      );
+      broker.sendMessageAsync(url, inputTopic, requestId, headers, payload.apply(requestId))
+        .whenComplete((metadata, exception) -> {
+          if (exception != null) {
+            failed.incrementAndGet();
+          } else {
+            ackLatency.recordValue((System.nanoTime() - scheduled) / 1000);
+          }
+        });
+    }
+    broker.flush(url);
+    double elapsed = (System.nanoTime() - start) / 1e9;
+
+    if (reader != null) {
+      try {
+        reader.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        reader.interrupt();
+      }
+    }
+
+    LoadReport report = new LoadReport(
+      total,
+      failed.get(),
+      received.get(),
+      (total - failed.get()) / elapsed,
+      LatencySummary.of(ackLatency),
+      LatencySummary.of(endToEndLatency));
+    log.info("Load on topic {} at {} msg/s: {}", inputTopic, ratePerSecond, report);
+    return report;
+  }
+
+  private void read(
+    String url, String topic, byte[] runId, Instant since, Duration duration, long expected, Histogram latency,
+    AtomicLong received) {
+    Duration timeout = duration.plusMillis(getProps().consumerPoolDuration());
+    try (Stream<ConsumerRecord<String, String>> records = broker.streamMessages(url, topic, since, timeout)) {
+      Iterator<ConsumerRecord<String, String>> iterator = records.iterator();
+      while (received.get() < expected && iterator.hasNext()) {
+        ConsumerRecord<String, String> record = iterator.next();
+        Header run = record.headers().lastHeader(LOAD_RUN_ID);
+        if (run == null || !Arrays.equals(run.value(), runId)) {
+          continue;
+        }
+        Header sentAt = record.headers().lastHeader(SEND_TIMESTAMP);
+        if (sentAt != null && sentAt.value() != null && sentAt.value().length == Long.BYTES) {
+          latency.recordValue(Math.max(0, toMicros(Instant.now()) - ByteBuffer.wrap(sentAt.value()).getLong()));
+          received.incrementAndGet();
+        }
+      }
+    } catch (Exception e) {
+      log.error("Error reading load results from topic {}: {}", topic, e.getMessage(), e);
+    }
+  }
+
+  private static long toMicros(Instant instant) {
+    return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + instant.getNano() / 1000;
+  }
+}
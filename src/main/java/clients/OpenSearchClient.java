@@ -1,29 +1,60 @@
 package clients;
 
+import clients.base.opensearch.cache.DocumentCache;
 import clients.base.opensearch.interfaces.IOpenSearch;
+import clients.base.opensearch.model.Bucket;
+import clients.base.opensearch.model.BulkIndexResult;
+import clients.base.opensearch.model.FieldStats;
+import clients.base.opensearch.model.RefreshPolicy;
+import clients.base.opensearch.model.SearchOptions;
 import lombok.extern.slf4j.Slf4j;
 import utils.ZipkinTracer;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static config.PropsConfig.getProps;
+import static utils.Utils.getConditionFactory;
 
 /**
- * Client for OpenSearch operations
+ * Client for OpenSearch operations.
+ * Reads by ID go through an optional {@link DocumentCache}; writes through this client update or invalidate it.
+ * Writes use OPENSEARCH_REFRESH_POLICY unless a policy is passed, WAIT_FOR by default, so a test can search
+ * for what it has just written without polling.
  */
 @Slf4j
 public class OpenSearchClient {
 
     private final IOpenSearch openSearch;
+    private final DocumentCache cache;
+    private final RefreshPolicy refreshPolicy;
     private final String url;
 
     /**
-     * Constructor with OpenSearch implementation
+     * Constructor with OpenSearch implementation and a cache configured from properties
      * 
      * @param openSearch OpenSearch implementation
      */
     public OpenSearchClient(IOpenSearch openSearch) {
+        this(openSearch, new DocumentCache());
+    }
+
+    /**
+     * Constructor with OpenSearch implementation and document cache, which may be shared between clients
+     * 
+     * @param openSearch OpenSearch implementation
+     * @param cache Document cache
+     */
+    public OpenSearchClient(IOpenSearch openSearch, DocumentCache cache) {
         this.openSearch = openSearch;
+        this.cache = cache;
+        this.refreshPolicy = RefreshPolicy.valueOf(getProps().openSearchRefreshPolicy().trim().toUpperCase());
         this.url = getProps().openSearchUrl();
     }
 
@@ -36,14 +67,58 @@ public class OpenSearchClient {
      * @return true if successful
      */
     public boolean indexDocument(String index, String id, String document) {
+        return indexDocument(index, id, document, refreshPolicy);
+    }
+
+    /**
+     * Create or update a document in OpenSearch
+     * 
+     * @param index Index name
+     * @param id Document ID
+     * @param document Document as JSON string
+     * @param refreshPolicy When the document becomes visible to search
+     * @return true if successful
+     */
+    public boolean indexDocument(String index, String id, String document, RefreshPolicy refreshPolicy) {
         log.info("Indexing document with ID {} in index {}", id, index);
         String spanId = ZipkinTracer.startSpan("OpenSearchClient.indexDocument");
         try {
             ZipkinTracer.addTag("index", index);
             ZipkinTracer.addTag("id", id);
+            ZipkinTracer.addTag("refresh", refreshPolicy.value());
+            ZipkinTracer.addTag("url", url);
+
+            boolean indexed = openSearch.indexDocument(url, index, id, document, refreshPolicy);
+            if (indexed) {
+                cache.put(index, id, document);
+            } else {
+                cache.invalidate(index, id);
+            }
+            return indexed;
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Index a stream of documents through the bulk API
+     * 
+     * @param index Index name
+     * @param documents Stream of document ID to document as JSON string
+     * @return number of indexed documents and failures by document ID
+     */
+    public BulkIndexResult indexDocuments(String index, Stream<Map.Entry<String, String>> documents) {
+        log.info("Bulk indexing documents in index {}", index);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.indexDocuments");
+        try {
+            ZipkinTracer.addTag("index", index);
             ZipkinTracer.addTag("url", url);
 
-            return openSearch.indexDocument(url, index, id, document);
+            BulkIndexResult result = openSearch.indexDocuments(url, index,
+                    documents.peek(document -> cache.invalidate(index, document.getKey())));
+            ZipkinTracer.addTag("indexed", String.valueOf(result.indexed()));
+            ZipkinTracer.addTag("failed", String.valueOf(result.failures().size()));
+            return result;
         } finally {
             ZipkinTracer.endSpan(spanId);
         }
@@ -57,13 +132,174 @@ public class OpenSearchClient {
      * @return List of documents as JSON strings
      */
     public List<String> searchDocuments(String index, String query) {
+        return searchDocuments(index, query, SearchOptions.DEFAULT);
+    }
+
+    /**
+     * Search for documents in OpenSearch returning only the selected fields of each hit
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param options Source filtering and size
+     * @return List of documents as JSON strings
+     */
+    public List<String> searchDocuments(String index, String query, SearchOptions options) {
         log.info("Searching documents in index {} with query: {}", index, query);
         String spanId = ZipkinTracer.startSpan("OpenSearchClient.searchDocuments");
         try {
             ZipkinTracer.addTag("index", index);
             ZipkinTracer.addTag("url", url);
+            ZipkinTracer.addTag("includes", String.join(",", options.includes()));
+
+            return openSearch.searchDocuments(url, index, query, options);
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Search for documents in OpenSearch returning the _source bytes of each hit without decoding them
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param options Source filtering and size
+     * @return List of read-only buffers with UTF-8 JSON of each document
+     */
+    public List<ByteBuffer> searchDocumentsRaw(String index, String query, SearchOptions options) {
+        log.info("Searching raw documents in index {} with query: {}", index, query);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.searchDocumentsRaw");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("url", url);
+            ZipkinTracer.addTag("includes", String.join(",", options.includes()));
 
-            return openSearch.searchDocuments(url, index, query);
+            return openSearch.searchDocumentsRaw(url, index, query, options);
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Count documents matching a query without fetching them
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @return number of matching documents
+     */
+    public long count(String index, String query) {
+        log.info("Counting documents in index {} with query: {}", index, query);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.count");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("url", url);
+
+            return openSearch.count(url, index, query);
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Group matching documents by the values of a keyword field
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param field Keyword field to group by
+     * @param size Maximum number of buckets
+     * @return Buckets ordered by document count, largest first
+     */
+    public List<Bucket> termsAggregation(String index, String query, String field, int size) {
+        log.info("Aggregating terms of {} in index {} with query: {}", field, index, query);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.termsAggregation");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("field", field);
+            ZipkinTracer.addTag("url", url);
+
+            return openSearch.termsAggregation(url, index, query, field, size);
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Group matching documents into time intervals of a date field
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param field Date field
+     * @param interval Fixed interval, any amount of ms, s, m, h or d such as 30m or 2d, or calendar interval,
+     *                 one of 1w, 1M, 1q, 1y or minute, hour, day, week, month, quarter, year. Buckets are in UTC
+     * @return Non-empty buckets in time order
+     */
+    public List<Bucket> dateHistogram(String index, String query, String field, String interval) {
+        log.info("Aggregating {} histogram of {} in index {} with query: {}", interval, field, index, query);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.dateHistogram");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("field", field);
+            ZipkinTracer.addTag("interval", interval);
+            ZipkinTracer.addTag("url", url);
+
+            return openSearch.dateHistogram(url, index, query, field, interval);
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Min, max and avg of a numeric field over matching documents
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param field Numeric field
+     * @return Field statistics
+     */
+    public FieldStats stats(String index, String query, String field) {
+        log.info("Aggregating stats of {} in index {} with query: {}", field, index, query);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.stats");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("field", field);
+            ZipkinTracer.addTag("url", url);
+
+            return openSearch.stats(url, index, query, field);
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Lazily stream all documents matching a query, OPENSEARCH_SEARCH_PAGE_SIZE hits per request.
+     * The stream must be closed.
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @return Stream of documents as JSON strings
+     */
+    public Stream<String> streamDocuments(String index, String query) {
+        return streamDocuments(index, query, getProps().openSearchSearchPageSize(), 1);
+    }
+
+    /**
+     * Lazily stream all documents matching a query. The stream must be closed.
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param pageSize Number of hits fetched per request
+     * @param slices Number of slices fetched concurrently into a sequential stream, 1 to fetch one page at a time
+     * @return Stream of documents as JSON strings
+     */
+    public Stream<String> streamDocuments(String index, String query, int pageSize, int slices) {
+        log.info("Streaming documents from index {} with query: {}", index, query);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.streamDocuments");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("url", url);
+            ZipkinTracer.addTag("pageSize", String.valueOf(pageSize));
+            ZipkinTracer.addTag("slices", String.valueOf(slices));
+
+            return openSearch.streamDocuments(url, index, query, pageSize, slices);
         } finally {
             ZipkinTracer.endSpan(spanId);
         }
@@ -84,7 +320,51 @@ public class OpenSearchClient {
             ZipkinTracer.addTag("id", id);
             ZipkinTracer.addTag("url", url);
 
-            return openSearch.getDocument(url, index, id);
+            String document = cache.get(index, id);
+            if (document != null) {
+                ZipkinTracer.addTag("cache", "hit");
+                return document;
+            }
+            document = openSearch.getDocument(url, index, id);
+            cache.put(index, id, document);
+            return document;
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Get many documents from OpenSearch by ID in a few multi-get requests
+     * 
+     * @param index Index name
+     * @param ids Document IDs
+     * @return Documents as JSON strings by ID, null for documents that were not found
+     */
+    public Map<String, String> getDocuments(String index, Collection<String> ids) {
+        log.info("Getting {} documents from index {}", ids.size(), index);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.getDocuments");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("ids", String.valueOf(ids.size()));
+            ZipkinTracer.addTag("url", url);
+
+            Map<String, String> documents = new LinkedHashMap<>();
+            List<String> missing = new ArrayList<>();
+            for (String id : ids) {
+                String document = cache.get(index, id);
+                documents.put(id, document);
+                if (document == null) {
+                    missing.add(id);
+                }
+            }
+            ZipkinTracer.addTag("cacheHits", String.valueOf(ids.size() - missing.size()));
+            if (!missing.isEmpty()) {
+                openSearch.getDocuments(url, index, missing).forEach((id, document) -> {
+                    documents.put(id, document);
+                    cache.put(index, id, document);
+                });
+            }
+            return documents;
         } finally {
             ZipkinTracer.endSpan(spanId);
         }
@@ -98,16 +378,180 @@ public class OpenSearchClient {
      * @return true if successful
      */
     public boolean deleteDocument(String index, String id) {
+        return deleteDocument(index, id, refreshPolicy);
+    }
+
+    /**
+     * Delete a document from OpenSearch
+     * 
+     * @param index Index name
+     * @param id Document ID
+     * @param refreshPolicy When the deletion becomes visible to search
+     * @return true if successful
+     */
+    public boolean deleteDocument(String index, String id, RefreshPolicy refreshPolicy) {
         log.info("Deleting document with ID {} from index {}", id, index);
         String spanId = ZipkinTracer.startSpan("OpenSearchClient.deleteDocument");
         try {
             ZipkinTracer.addTag("index", index);
             ZipkinTracer.addTag("id", id);
+            ZipkinTracer.addTag("refresh", refreshPolicy.value());
             ZipkinTracer.addTag("url", url);
 
-            return openSearch.deleteDocument(url, index, id);
+            cache.invalidate(index, id);
+            return openSearch.deleteDocument(url, index, id, refreshPolicy);
         } finally {
             ZipkinTracer.endSpan(spanId);
         }
     }
+
+    /**
+     * Check whether a document exists with a realtime GET, without fetching its source
+     * 
+     * @param index Index name
+     * @param id Document ID
+     * @return true if the document exists
+     */
+    public boolean exists(String index, String id) {
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.exists");
+        try {
+            ZipkinTracer.addTag("index", index);
+            ZipkinTracer.addTag("id", id);
+            ZipkinTracer.addTag("url", url);
+
+            return openSearch.exists(url, index, id);
+        } finally {
+            ZipkinTracer.endSpan(spanId);
+        }
+    }
+
+    /**
+     * Wait until a document written elsewhere exists, checking with a realtime GET
+     * instead of repeated searches. Fails after CONFIG_RETRY_TIMEOUT seconds.
+     * 
+     * @param index Index name
+     * @param id Document ID
+     */
+    public void awaitVisible(String index, String id) {
+        log.info("Waiting for document with ID {} in index {}", id, index);
+        getConditionFactory()
+                .alias("Document " + id + " in index " + index)
+                .until(() -> openSearch.exists(url, index, id));
+    }
+
+    /**
+     * Create or update a document in OpenSearch without blocking.
+     * The span stays open until the request completes.
+     * 
+     * @param index Index name
+     * @param id Document ID
+     * @param document Document as JSON string
+     * @return future completed with true if successful
+     */
+    public CompletableFuture<Boolean> indexDocumentAsync(String index, String id, String document) {
+        log.info("Indexing document with ID {} in index {} asynchronously", id, index);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.indexDocumentAsync");
+        ZipkinTracer.addTag("index", index);
+        ZipkinTracer.addTag("id", id);
+        ZipkinTracer.addTag("url", url);
+        cache.invalidate(index, id);
+        return traced(spanId, openSearch.indexDocumentAsync(url, index, id, document, refreshPolicy)
+                .whenComplete((indexed, exception) -> cache.invalidate(index, id)));
+    }
+
+    /**
+     * Search for documents in OpenSearch without blocking.
+     * The span stays open until the request completes.
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @return future completed with the documents as JSON strings
+     */
+    public CompletableFuture<List<String>> searchDocumentsAsync(String index, String query) {
+        return searchDocumentsAsync(index, query, SearchOptions.DEFAULT);
+    }
+
+    /**
+     * Search for documents in OpenSearch returning only the selected fields of each hit without blocking.
+     * The span stays open until the request completes.
+     * 
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param options Source filtering and size
+     * @return future completed with the documents as JSON strings
+     */
+    public CompletableFuture<List<String>> searchDocumentsAsync(String index, String query, SearchOptions options) {
+        log.info("Searching documents in index {} asynchronously with query: {}", index, query);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.searchDocumentsAsync");
+        ZipkinTracer.addTag("index", index);
+        ZipkinTracer.addTag("url", url);
+        ZipkinTracer.addTag("includes", String.join(",", options.includes()));
+        return traced(spanId, openSearch.searchDocumentsAsync(url, index, query, options));
+    }
+
+    /**
+     * Get a document from OpenSearch by ID without blocking.
+     * The span stays open until the request completes.
+     * 
+     * @param index Index name
+     * @param id Document ID
+     * @return future completed with the document as JSON string, or null if not found
+     */
+    public CompletableFuture<String> getDocumentAsync(String index, String id) {
+        log.info("Getting document with ID {} from index {} asynchronously", id, index);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.getDocumentAsync");
+        ZipkinTracer.addTag("index", index);
+        ZipkinTracer.addTag("id", id);
+        ZipkinTracer.addTag("url", url);
+        String cached = cache.get(index, id);
+        if (cached != null) {
+            ZipkinTracer.addTag("cache", "hit");
+            ZipkinTracer.endSpan(spanId);
+            return CompletableFuture.completedFuture(cached);
+        }
+        return traced(spanId, openSearch.getDocumentAsync(url, index, id)
+                .whenComplete((document, exception) -> cache.put(index, id, document)));
+    }
+
+    /**
+     * Delete a document from OpenSearch without blocking.
+     * The span stays open until the request completes.
+     * 
+     * @param index Index name
+     * @param id Document ID
+     * @return future completed with true if successful
+     */
+    public CompletableFuture<Boolean> deleteDocumentAsync(String index, String id) {
+        log.info("Deleting document with ID {} from index {} asynchronously", id, index);
+        String spanId = ZipkinTracer.startSpan("OpenSearchClient.deleteDocumentAsync");
+        ZipkinTracer.addTag("index", index);
+        ZipkinTracer.addTag("id", id);
+        ZipkinTracer.addTag("url", url);
+        cache.invalidate(index, id);
+        return traced(spanId, openSearch.deleteDocumentAsync(url, index, id, refreshPolicy)
+                .whenComplete((deleted, exception) -> cache.invalidate(index, id)));
+    }
+
+    /**
+     * @return number of document reads served from the cache
+     */
+    public long cacheHits() {
+        return cache.hits();
+    }
+
+    /**
+     * @return number of document reads that missed the cache and went to OpenSearch
+     */
+    public long cacheMisses() {
+        return cache.misses();
+    }
+
+    private <T> CompletableFuture<T> traced(String spanId, CompletableFuture<T> future) {
+        if (spanId == null) {
+            return future;
+        }
+        String traceId = ZipkinTracer.currentTraceId();
+        Map<String, String> tags = ZipkinTracer.currentTags();
+        return future.whenComplete((result, exception) -> ZipkinTracer.endSpan(spanId, traceId, tags));
+    }
 }
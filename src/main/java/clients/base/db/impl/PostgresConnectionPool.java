@@ -0,0 +1,123 @@
+package clients.base.db.impl;
+
+import clients.base.db.model.PoolMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * JVM-wide registry of JDBC connection pools keyed by url and user.
+ * Every test class borrows from the same bounded pool, so TCP, TLS and authentication happen
+ * once per physical connection. A connection idle for more than 500 ms is validated with
+ * Connection.isValid before it is handed out, idle connections above DB_POOL_MIN_IDLE are
+ * closed after DB_POOL_IDLE_TIMEOUT_MS.
+ */
+@Slf4j
+final class PostgresConnectionPool {
+
+  private static final Map<String, Pool> POOLS = new ConcurrentHashMap<>();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(PostgresConnectionPool::closeAll, "postgres-pool-shutdown"));
+  }
+
+  private PostgresConnectionPool() {
+  }
+
+  /**
+   * Borrow a connection, closing it returns the connection to the pool
+   */
+  static Connection connection(String url, String user, String password) throws SQLException {
+    return POOLS.computeIfAbsent(url + "|" + user, key -> create(url, user, password)).dataSource().getConnection();
+  }
+
+  /**
+   * @return state and wait times of the pool, empty if it was not created yet
+   */
+  static PoolMetrics metrics(String url, String user) {
+    Pool pool = POOLS.get(url + "|" + user);
+    if (pool == null) {
+      return PoolMetrics.EMPTY;
+    }
+    HikariPoolMXBean bean = pool.dataSource().getHikariPoolMXBean();
+    Histogram waits = pool.tracker().waits.copy();
+    return new PoolMetrics(
+      bean.getActiveConnections(),
+      bean.getIdleConnections(),
+      bean.getTotalConnections(),
+      bean.getThreadsAwaitingConnection(),
+      waits.getTotalCount(),
+      pool.tracker().timeouts.sum(),
+      waits.getValueAtPercentile(50),
+      waits.getValueAtPercentile(99),
+      waits.getMaxValue());
+  }
+
+  static void closeAll() {
+    POOLS.forEach((key, pool) -> {
+      try {
+        pool.dataSource().close();
+      } catch (Exception e) {
+        log.error("Error closing connection pool {}: {}", key, e.getMessage(), e);
+      }
+    });
+    POOLS.clear();
+  }
+
+  private static Pool create(String url, String user, String password) {
+    log.info("Creating connection pool for {} as {}", url, user);
+    WaitTracker tracker = new WaitTracker();
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("postgres-" + user + "@" + url);
+    config.setJdbcUrl(url);
+    config.setUsername(user);
+    config.setPassword(password);
+    config.setMaximumPoolSize(getProps().dbPoolMaxSize());
+    config.setMinimumIdle(getProps().dbPoolMinIdle());
+    config.setIdleTimeout(getProps().dbPoolIdleTimeoutMs());
+    config.setConnectionTimeout(getProps().dbPoolConnectionTimeoutMs());
+    config.setValidationTimeout(getProps().dbPoolValidationTimeoutMs());
+    config.setMaxLifetime(getProps().dbPoolMaxLifetimeMs());
+    config.addDataSourceProperty("reWriteBatchedInserts", getProps().dbRewriteBatchedInserts());
+    config.addDataSourceProperty("prepareThreshold", getProps().dbPrepareThreshold());
+    config.addDataSourceProperty("preparedStatementCacheQueries", getProps().dbPreparedStatementCacheQueries());
+    config.addDataSourceProperty("preparedStatementCacheSizeMiB", getProps().dbPreparedStatementCacheSizeMib());
+    config.setMetricsTrackerFactory((poolName, poolStats) -> tracker);
+    return new Pool(new HikariDataSource(config), tracker);
+  }
+
+  private record Pool(HikariDataSource dataSource, WaitTracker tracker) {
+  }
+
+  /**
+   * Records how long callers waited for a connection
+   */
+  private static final class WaitTracker implements IMetricsTracker {
+
+    private final Histogram waits = new ConcurrentHistogram(3);
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+      waits.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+      timeouts.increment();
+    }
+  }
+}
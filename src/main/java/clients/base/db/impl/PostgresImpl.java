@@ -1,20 +1,288 @@
 package clients.base.db.impl;
 
 import clients.base.db.interfaces.IDatabase;
+import clients.base.db.model.NamedQuery;
+import clients.base.db.model.PoolMetrics;
+import clients.base.db.model.EstimatedStatementCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.core.Utils;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 public class PostgresImpl implements IDatabase {
 
   @Override
   public void setData(String url, String user, String password, String query) {
+    try (Connection connection = PostgresConnectionPool.connection(url, user, password);
+         Statement statement = connection.createStatement()) {
+      statement.execute(query);
+    } catch (SQLException e) {
+      log.error("Error executing query: {}", e.getMessage(), e);
+      throw new RuntimeException("Failed to execute query: " + query, e);
+    }
+  }
+
+  @Override
+  public int setData(String url, String user, String password, NamedQuery query, Object... params) {
+    try (Connection connection = PostgresConnectionPool.connection(url, user, password);
+         PreparedStatement statement = prepare(url, user, connection, query, params)) {
+      return statement.executeUpdate();
+    } catch (SQLException e) {
+      log.error("Error executing query {}: {}", query.name(), e.getMessage(), e);
+      throw new RuntimeException("Failed to execute query " + query.name(), e);
+    }
+  }
+
+  @Override
+  public <T> List<T> getListData(String url, String user, String password, Class<T> entityClass, NamedQuery query,
+                                 Object... params) {
+    try (Connection connection = PostgresConnectionPool.connection(url, user, password);
+         PreparedStatement statement = prepare(url, user, connection, query, params);
+         ResultSet resultSet = statement.executeQuery()) {
+      List<T> rows = new ArrayList<>();
+      RowMapper<T> mapper = RowMapper.of(entityClass, resultSet.getMetaData());
+      while (resultSet.next()) {
+        rows.add(mapper.map(resultSet));
+      }
+      return rows;
+    } catch (SQLException e) {
+      log.error("Error executing query {}: {}", query.name(), e.getMessage(), e);
+      throw new RuntimeException("Failed to execute query " + query.name(), e);
+    }
+  }
 
+  /**
+   * Sends the rows in JDBC batches of batchSize in a single transaction.
+   * With reWriteBatchedInserts the driver turns each batch of inserts into multi-row INSERT statements.
+   */
+  @Override
+  public long setBatchData(String url, String user, String password, String query, Stream<Object[]> rows, int batchSize) {
+    if (batchSize <= 0) {
+      rows.close();
+      throw new IllegalArgumentException("batchSize must be greater than zero: " + batchSize);
+    }
+    try (rows;
+         Connection connection = PostgresConnectionPool.connection(url, user, password)) {
+      connection.setAutoCommit(false);
+      long count = 0;
+      try (PreparedStatement statement = connection.prepareStatement(query)) {
+        Iterator<Object[]> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+          Object[] row = iterator.next();
+          for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+          }
+          statement.addBatch();
+          if (++count % batchSize == 0) {
+            statement.executeBatch();
+          }
+        }
+        if (count % batchSize != 0) {
+          statement.executeBatch();
+        }
+        connection.commit();
+        return count;
+      } catch (SQLException | RuntimeException e) {
+        try {
+          connection.rollback();
+        } catch (SQLException rollbackError) {
+          e.addSuppressed(rollbackError);
+        }
+        throw e;
+      } finally {
+        connection.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      log.error("Error executing batch: {}", e.getMessage(), e);
+      throw new RuntimeException("Failed to execute batch: " + query, e);
+    }
+  }
+
+  /**
+   * Streams the chunks to the server through the COPY protocol, nothing is buffered beyond one chunk
+   */
+  @Override
+  public long copyData(String url, String user, String password, String copyQuery, Stream<byte[]> data) {
+    try (data;
+         Connection connection = PostgresConnectionPool.connection(url, user, password)) {
+      CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copyQuery);
+      try {
+        Iterator<byte[]> iterator = data.iterator();
+        while (iterator.hasNext()) {
+          byte[] chunk = iterator.next();
+          copyIn.writeToCopy(chunk, 0, chunk.length);
+        }
+        return copyIn.endCopy();
+      } finally {
+        if (copyIn.isActive()) {
+          copyIn.cancelCopy();
+        }
+      }
+    } catch (SQLException e) {
+      log.error("Error copying data: {}", e.getMessage(), e);
+      throw new RuntimeException("Failed to copy data: " + copyQuery, e);
+    }
+  }
+
+  /**
+   * Every part of a schema-qualified table name is quoted, so the name is matched case-sensitively
+   */
+  @Override
+  public long copyCsvData(String url, String user, String password, String table, Stream<String> lines) {
+    StringBuilder copyQuery = new StringBuilder("COPY ");
+    try {
+      String[] parts = table.split("\\.", -1);
+      for (int i = 0; i < parts.length; i++) {
+        if (i > 0) {
+          copyQuery.append('.');
+        }
+        Utils.escapeIdentifier(copyQuery, parts[i]);
+      }
+    } catch (SQLException e) {
+      lines.close();
+      throw new RuntimeException("Invalid table name: " + table, e);
+    }
+    copyQuery.append(" FROM STDIN WITH (FORMAT csv)");
+    return copyData(url, user, password, copyQuery.toString(),
+      lines.map(line -> (line + "\n").getBytes(StandardCharsets.UTF_8)));
   }
 
   @Override
   public <T> List<T> getListData(String url, String user, String password, Class<T> entityClass, String query) {
-    return List.of();
+    try (Connection connection = PostgresConnectionPool.connection(url, user, password);
+         Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(query)) {
+      List<T> rows = new ArrayList<>();
+      RowMapper<T> mapper = RowMapper.of(entityClass, resultSet.getMetaData());
+      while (resultSet.next()) {
+        rows.add(mapper.map(resultSet));
+      }
+      return rows;
+    } catch (SQLException e) {
+      log.error("Error executing query: {}", e.getMessage(), e);
+      throw new RuntimeException("Failed to execute query: " + query, e);
+    }
+  }
+
+  /**
+   * Runs the query in a transaction so the driver reads it through a server-side cursor,
+   * fetchSize rows per round trip. The connection stays borrowed until the stream is closed.
+   */
+  @Override
+  public <T> Stream<T> streamData(String url, String user, String password, Class<T> entityClass, String query,
+                                  int fetchSize) {
+    Connection connection = null;
+    Statement statement = null;
+    ResultSet resultSet = null;
+    try {
+      connection = PostgresConnectionPool.connection(url, user, password);
+      connection.setAutoCommit(false);
+      statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
+      resultSet = statement.executeQuery(query);
+      RowMapper<T> mapper = RowMapper.of(entityClass, resultSet.getMetaData());
+
+      ResultSet rows = resultSet;
+      Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+        Spliterator.ORDERED | Spliterator.NONNULL) {
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+          try {
+            if (!rows.next()) {
+              return false;
+            }
+            action.accept(mapper.map(rows));
+            return true;
+          } catch (SQLException e) {
+            throw new RuntimeException("Failed to read row of query: " + query, e);
+          }
+        }
+      };
+      Connection borrowed = connection;
+      Statement opened = statement;
+      return StreamSupport.stream(spliterator, false).onClose(() -> close(borrowed, opened, rows));
+    } catch (SQLException e) {
+      log.error("Error executing query: {}", e.getMessage(), e);
+      close(connection, statement, resultSet);
+      throw new RuntimeException("Failed to execute query: " + query, e);
+    } catch (RuntimeException e) {
+      log.error("Error executing query: {}", e.getMessage(), e);
+      close(connection, statement, resultSet);
+      throw e;
+    }
+  }
+
+  @Override
+  public PoolMetrics poolMetrics(String url, String user) {
+    return PostgresConnectionPool.metrics(url, user);
+  }
+
+  @Override
+  public EstimatedStatementCacheMetrics estimatedStatementCacheMetrics(String url, String user) {
+    return StatementCacheTracker.metrics(url, user);
+  }
+
+  /**
+   * Prepare a statement and bind its parameters. pgjdbc keeps the statement prepared on the server
+   * once it has run DB_PREPARE_THRESHOLD times on the physical connection.
+   */
+  private static PreparedStatement prepare(String url, String user, Connection connection, NamedQuery query,
+                                           Object[] params) throws SQLException {
+    log.debug("Executing query {}", query.name());
+    StatementCacheTracker.record(url, user, connection.unwrap(PGConnection.class), query.sql());
+    PreparedStatement statement = connection.prepareStatement(query.sql());
+    try {
+      for (int i = 0; i < params.length; i++) {
+        statement.setObject(i + 1, params[i]);
+      }
+      return statement;
+    } catch (SQLException | RuntimeException e) {
+      statement.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Close the cursor, end the read-only transaction and return the connection to the pool
+   */
+  private static void close(Connection connection, Statement statement, ResultSet resultSet) {
+    try {
+      if (resultSet != null) {
+        resultSet.close();
+      }
+      if (statement != null) {
+        statement.close();
+      }
+      if (connection != null) {
+        connection.rollback();
+        connection.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      log.error("Error closing cursor: {}", e.getMessage(), e);
+    } finally {
+      if (connection != null) {
+        try {
+          connection.close();
+        } catch (SQLException e) {
+          log.error("Error returning connection to pool: {}", e.getMessage(), e);
+        }
+      }
+    }
   }
-}
\ No newline at end of file
+}
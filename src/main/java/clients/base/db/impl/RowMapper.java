@@ -0,0 +1,269 @@
+package clients.base.db.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps rows of a result set to a record through its canonical constructor,
+ * or to a class with a no-arg constructor through its fields, including the fields of its superclasses.
+ * Columns are matched to names ignoring case and underscores.
+ * The entity class is inspected once per (class, column labels) and turned into a single method handle
+ * of type (ResultSet)Object chaining typed column getters into the constructor or setters,
+ * so mapping a row neither uses reflection nor boxes primitive columns.
+ */
+public final class RowMapper<T> {
+
+  private static final Map<Shape, RowMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private final Class<T> entityClass;
+  private final MethodHandle mapper;
+
+  private RowMapper(Class<T> entityClass, MethodHandle mapper) {
+    this.entityClass = entityClass;
+    this.mapper = mapper;
+  }
+
+  /**
+   * @return cached mapper of the entity class for the columns of the result set
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> RowMapper<T> of(Class<T> entityClass, ResultSetMetaData metaData) throws SQLException {
+    List<String> labels = new ArrayList<>(metaData.getColumnCount());
+    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+      labels.add(metaData.getColumnLabel(column));
+    }
+    return (RowMapper<T>) MAPPERS.computeIfAbsent(new Shape(entityClass, labels), RowMapper::create);
+  }
+
+  /**
+   * Map the current row
+   */
+  public T map(ResultSet resultSet) throws SQLException {
+    try {
+      return entityClass.cast((Object) mapper.invokeExact(resultSet));
+    } catch (SQLException | RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new RuntimeException("Failed to map row to " + entityClass.getName(), e);
+    }
+  }
+
+  private static RowMapper<?> create(Shape shape) {
+    Class<?> entityClass = shape.entityClass();
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < shape.labels().size(); i++) {
+      columns.putIfAbsent(normalize(shape.labels().get(i)), i + 1);
+    }
+
+    try {
+      MethodHandle mapper = entityClass.isRecord()
+        ? recordMapper(entityClass, columns)
+        : fieldMapper(entityClass, columns);
+      return new RowMapper<>(entityClass, mapper.asType(MethodType.methodType(Object.class, ResultSet.class)));
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException("Failed to build row mapper for " + entityClass.getName(), e);
+    }
+  }
+
+  /**
+   * Canonical constructor with every argument filtered through the reader of its column,
+   * all readers sharing the single ResultSet argument
+   */
+  private static MethodHandle recordMapper(Class<?> entityClass, Map<String, Integer> columns)
+    throws ReflectiveOperationException {
+    RecordComponent[] components = entityClass.getRecordComponents();
+    Class<?>[] types = new Class<?>[components.length];
+    MethodHandle[] readers = new MethodHandle[components.length];
+    for (int i = 0; i < components.length; i++) {
+      types[i] = components[i].getType();
+      Integer column = columns.get(normalize(components[i].getName()));
+      readers[i] = column == null
+        ? MethodHandles.dropArguments(MethodHandles.zero(types[i]), 0, ResultSet.class)
+        : reader(column, types[i]);
+    }
+    Constructor<?> canonical = entityClass.getDeclaredConstructor(types);
+    canonical.setAccessible(true);
+    MethodHandle constructor = MethodHandles.filterArguments(LOOKUP.unreflectConstructor(canonical), 0, readers);
+    return MethodHandles.permuteArguments(
+      constructor, MethodType.methodType(entityClass, ResultSet.class), new int[components.length]);
+  }
+
+  /**
+   * No-arg constructor followed by the setter of every field with a column, each setter
+   * taking its value from the reader of the column
+   */
+  private static MethodHandle fieldMapper(Class<?> entityClass, Map<String, Integer> columns)
+    throws ReflectiveOperationException {
+    MethodType setterType = MethodType.methodType(void.class, entityClass, ResultSet.class);
+    MethodHandle populate = null;
+    Set<String> mapped = new HashSet<>();
+    for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        String name = normalize(field.getName());
+        Integer column = columns.get(name);
+        if (column == null || Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())
+          || !mapped.add(name)) {
+          continue;
+        }
+        field.setAccessible(true);
+        MethodHandle setter = MethodHandles.filterArguments(
+          LOOKUP.unreflectSetter(field), 1, reader(column, field.getType())).asType(setterType);
+        populate = populate == null ? setter : MethodHandles.foldArguments(setter, populate);
+      }
+    }
+    MethodHandle entity = MethodHandles.dropArguments(MethodHandles.identity(entityClass), 1, ResultSet.class);
+    if (populate != null) {
+      entity = MethodHandles.foldArguments(entity, populate);
+    }
+    Constructor<?> noArg = entityClass.getDeclaredConstructor();
+    noArg.setAccessible(true);
+    return MethodHandles.foldArguments(entity, LOOKUP.unreflectConstructor(noArg));
+  }
+
+  /**
+   * Typed getter of a column as a (ResultSet)type handle. Primitives are read without boxing,
+   * taking the driver's zero for NULL; wrappers are null for NULL. char and Character are read
+   * from a single-character string. Other types go through getObject(column, type).
+   */
+  private static MethodHandle reader(int column, Class<?> type) throws ReflectiveOperationException {
+    String getter = switch (type.getName()) {
+      case "boolean" -> "readBoolean";
+      case "java.lang.Boolean" -> "readBooleanOrNull";
+      case "byte" -> "readByte";
+      case "java.lang.Byte" -> "readByteOrNull";
+      case "short" -> "readShort";
+      case "java.lang.Short" -> "readShortOrNull";
+      case "int" -> "readInt";
+      case "java.lang.Integer" -> "readIntOrNull";
+      case "long" -> "readLong";
+      case "java.lang.Long" -> "readLongOrNull";
+      case "float" -> "readFloat";
+      case "java.lang.Float" -> "readFloatOrNull";
+      case "double" -> "readDouble";
+      case "java.lang.Double" -> "readDoubleOrNull";
+      case "char" -> "readChar";
+      case "java.lang.Character" -> "readCharOrNull";
+      case "java.lang.String" -> "readString";
+      default -> null;
+    };
+    if (getter == null) {
+      MethodHandle object = LOOKUP.findStatic(RowMapper.class, "readObject",
+        MethodType.methodType(Object.class, ResultSet.class, int.class, Class.class));
+      return MethodHandles.insertArguments(object, 1, column, type)
+        .asType(MethodType.methodType(type, ResultSet.class));
+    }
+    MethodHandle typed = LOOKUP.findStatic(RowMapper.class, getter, MethodType.methodType(type, ResultSet.class, int.class));
+    return MethodHandles.insertArguments(typed, 1, column);
+  }
+
+  private static boolean readBoolean(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getBoolean(column);
+  }
+
+  private static Boolean readBooleanOrNull(ResultSet resultSet, int column) throws SQLException {
+    boolean value = resultSet.getBoolean(column);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static byte readByte(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getByte(column);
+  }
+
+  private static Byte readByteOrNull(ResultSet resultSet, int column) throws SQLException {
+    byte value = resultSet.getByte(column);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static short readShort(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getShort(column);
+  }
+
+  private static Short readShortOrNull(ResultSet resultSet, int column) throws SQLException {
+    short value = resultSet.getShort(column);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static int readInt(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getInt(column);
+  }
+
+  private static Integer readIntOrNull(ResultSet resultSet, int column) throws SQLException {
+    int value = resultSet.getInt(column);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static long readLong(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getLong(column);
+  }
+
+  private static Long readLongOrNull(ResultSet resultSet, int column) throws SQLException {
+    long value = resultSet.getLong(column);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static float readFloat(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getFloat(column);
+  }
+
+  private static Float readFloatOrNull(ResultSet resultSet, int column) throws SQLException {
+    float value = resultSet.getFloat(column);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static double readDouble(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getDouble(column);
+  }
+
+  private static Double readDoubleOrNull(ResultSet resultSet, int column) throws SQLException {
+    double value = resultSet.getDouble(column);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static char readChar(ResultSet resultSet, int column) throws SQLException {
+    Character value = readCharOrNull(resultSet, column);
+    return value == null ? '\0' : value;
+  }
+
+  private static Character readCharOrNull(ResultSet resultSet, int column) throws SQLException {
+    String value = resultSet.getString(column);
+    if (value == null) {
+      return null;
+    }
+    if (value.length() != 1) {
+      throw new SQLDataException("Column " + column + " holds \"" + value + "\", not a single character");
+    }
+    return value.charAt(0);
+  }
+
+  private static String readString(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getString(column);
+  }
+
+  private static Object readObject(ResultSet resultSet, int column, Class<?> type) throws SQLException {
+    return resultSet.getObject(column, type);
+  }
+
+  private static String normalize(String name) {
+    return name.replace("_", "").toLowerCase();
+  }
+
+  private record Shape(Class<?> entityClass, List<String> labels) {
+  }
+}
@@ -0,0 +1,73 @@
+package clients.base.db.impl;
+
+import clients.base.db.model.EstimatedStatementCacheMetrics;
+import org.postgresql.PGConnection;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * Estimates the prepared statement cache pgjdbc keeps on every physical connection by keeping
+ * the last DB_PREPARED_STATEMENT_CACHE_QUERIES statement texts, least recently used evicted first.
+ * An execution whose text is still held for its connection counts as a hit.
+ * Only named queries are recorded; the prepare threshold, the DB_PREPARED_STATEMENT_CACHE_SIZE_MIB limit
+ * and the statements run by batch, copy, streaming and plain-text queries are not modelled.
+ */
+final class StatementCacheTracker {
+
+  private static final int CACHE_QUERIES = getProps().dbPreparedStatementCacheQueries();
+  private static final Map<String, Pool> POOLS = new ConcurrentHashMap<>();
+
+  private StatementCacheTracker() {
+  }
+
+  /**
+   * Record an execution of a statement on a physical connection
+   */
+  static void record(String url, String user, PGConnection connection, String sql) {
+    Pool pool = POOLS.computeIfAbsent(url + "|" + user, key -> new Pool());
+    Set<String> statements;
+    synchronized (pool.connections) {
+      statements = pool.connections.computeIfAbsent(connection, key -> Collections.newSetFromMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > CACHE_QUERIES;
+          }
+        }));
+    }
+    boolean hit;
+    synchronized (statements) {
+      hit = !statements.add(sql);
+    }
+    (hit ? pool.hits : pool.misses).increment();
+  }
+
+  static EstimatedStatementCacheMetrics metrics(String url, String user) {
+    Pool pool = POOLS.get(url + "|" + user);
+    if (pool == null) {
+      return EstimatedStatementCacheMetrics.EMPTY;
+    }
+    int connections;
+    synchronized (pool.connections) {
+      connections = pool.connections.size();
+    }
+    return new EstimatedStatementCacheMetrics(pool.hits.sum(), pool.misses.sum(), connections);
+  }
+
+  /**
+   * Physical connections are weakly referenced, so connections closed by the pool drop out
+   */
+  private static final class Pool {
+    private final Map<PGConnection, Set<String>> connections = new WeakHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+  }
+}
@@ -1,8 +1,21 @@
 package clients.base.db.interfaces;
 
+import clients.base.db.model.NamedQuery;
+import clients.base.db.model.PoolMetrics;
+import clients.base.db.model.EstimatedStatementCacheMetrics;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IDatabase {
   void setData(String url, String user, String password, String query);
+  int setData(String url, String user, String password, NamedQuery query, Object... params);
+  long setBatchData(String url, String user, String password, String query, Stream<Object[]> rows, int batchSize);
+  long copyData(String url, String user, String password, String copyQuery, Stream<byte[]> data);
+  long copyCsvData(String url, String user, String password, String table, Stream<String> lines);
   <T> List<T> getListData(String url, String user, String password, Class<T> entityClass, String query);
-}
\ No newline at end of file
+  <T> List<T> getListData(String url, String user, String password, Class<T> entityClass, NamedQuery query, Object... params);
+  <T> Stream<T> streamData(String url, String user, String password, Class<T> entityClass, String query, int fetchSize);
+  PoolMetrics poolMetrics(String url, String user);
+  EstimatedStatementCacheMetrics estimatedStatementCacheMetrics(String url, String user);
+}
@@ -0,0 +1,20 @@
+package clients.base.db.model;
+
+/**
+ * Estimated prepared statement cache usage of a connection pool, summed over its physical connections.
+ * The figures come from a client-side model of the pgjdbc cache, not from the server: only named queries
+ * are counted, and the prepare threshold and the size limit in MiB are ignored.
+ *
+ * @param hits executions of a named query whose text the model still holds for the physical connection
+ * @param misses executions of a named query the model had not seen on the connection or had evicted
+ * @param connections physical connections seen so far
+ */
+public record EstimatedStatementCacheMetrics(long hits, long misses, int connections) {
+
+  public static final EstimatedStatementCacheMetrics EMPTY = new EstimatedStatementCacheMetrics(0, 0, 0);
+
+  public double hitRatio() {
+    long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
@@ -0,0 +1,11 @@
+package clients.base.db.model;
+
+/**
+ * SQL statement with ? bind parameters and a name used in logs and metrics.
+ * The text never changes between calls, so the driver can reuse its server-side prepared statement.
+ *
+ * @param name statement name
+ * @param sql statement text with ? placeholders
+ */
+public record NamedQuery(String name, String sql) {
+}
@@ -0,0 +1,16 @@
+package clients.base.db.model;
+
+/**
+ * State of a connection pool and the time callers waited to borrow a connection, in microseconds
+ */
+public record PoolMetrics(int active, int idle, int total, int waiting,
+                          long acquired, long timeouts, long p50Wait, long p99Wait, long maxWait) {
+
+  public static final PoolMetrics EMPTY = new PoolMetrics(0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+  @Override
+  public String toString() {
+    return String.format("active=%d idle=%d total=%d waiting=%d acquired=%d timeouts=%d wait p50=%dus p99=%dus max=%dus",
+      active, idle, total, waiting, acquired, timeouts, p50Wait, p99Wait, maxWait);
+  }
+}
@@ -0,0 +1,328 @@
+package clients.base.kafka.impl;
+
+import clients.base.kafka.interfaces.IBroker;
+import clients.base.kafka.model.ProducerRecordSpec;
+import clients.base.kafka.model.SendResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * In-process stand-in for a Kafka cluster.
+ * Every (url, topic) pair is a partitioned append-only log with offsets, keys, headers and
+ * timestamps. Keys are mapped to partitions by the same murmur2 hash as the Kafka producer.
+ * Lookups by requestId go through an index, like the shared consumer of {@link KafkaImpl}.
+ */
+public class InMemoryBrokerImpl implements IBroker {
+
+  private static final int BATCH_SIZE = 500;
+  private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final int partitions;
+  private final long CONSUMER_POOL_DURATION = getProps().consumerPoolDuration();
+  private final int KAFKA_MAX_MESSAGES_VALUE = getProps().kafkaMaxMessagesValue();
+  private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+  private final List<ObjIntConsumer<String>> pollListeners = new CopyOnWriteArrayList<>();
+
+  public InMemoryBrokerImpl() {
+    this(getProps().kafkaInMemoryPartitions());
+  }
+
+  /**
+   * @param partitions number of partitions of every topic
+   */
+  public InMemoryBrokerImpl(int partitions) {
+    this.partitions = partitions;
+  }
+
+  @Override
+  public void sendMessage(String url, String topic, String key, List<Header> headers, String message) {
+    topic(url, topic).append(key, headers, message);
+  }
+
+  @Override
+  public CompletableFuture<RecordMetadata> sendMessageAsync(
+    String url, String topic, String key, List<Header> headers, String message) {
+    try {
+      return CompletableFuture.completedFuture(topic(url, topic).append(key, headers, message));
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Override
+  public List<SendResult> sendMessages(String url, String topic, List<ProducerRecordSpec> records) {
+    Topic log = topic(url, topic);
+    List<SendResult> results = new ArrayList<>(records.size());
+    for (ProducerRecordSpec record : records) {
+      long start = System.nanoTime();
+      try {
+        RecordMetadata metadata = log.append(record.key(), record.headers(), record.message());
+        results.add(SendResult.acknowledged(metadata.partition(), metadata.offset(), Duration.ofNanos(System.nanoTime() - start)));
+      } catch (RuntimeException e) {
+        results.add(SendResult.failed(e, Duration.ofNanos(System.nanoTime() - start)));
+      }
+    }
+    return results;
+  }
+
+  @Override
+  public void flush(String url) {
+  }
+
+  @Override
+  public Map<MetricName, ? extends Metric> metrics(String url) {
+    return Map.of();
+  }
+
+  @Override
+  public void addPollListener(ObjIntConsumer<String> listener) {
+    pollListeners.add(listener);
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String requestId) {
+    return topic(url, topic).await(requestId, record -> true);
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String key, String requestId) {
+    int partition = KafkaRecords.partitionForKey(KafkaRecords.requireKey(key), partitions);
+    return topic(url, topic).await(requestId, record -> record.partition() == partition);
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String requestId, Instant since) {
+    long from = epochMillis(since);
+    return topic(url, topic).await(requestId, record -> record.timestamp() >= from);
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String key, String requestId, Instant since) {
+    int partition = KafkaRecords.partitionForKey(KafkaRecords.requireKey(key), partitions);
+    long from = epochMillis(since);
+    return topic(url, topic).await(requestId, record -> record.partition() == partition && record.timestamp() >= from);
+  }
+
+  @Override
+  public Stream<ConsumerRecord<String, String>> streamMessages(String url, String topic, Instant since, Duration timeout) {
+    Topic log = topic(url, topic);
+    long[] positions = IntStream.range(0, partitions).mapToLong(partition -> log.partitions[partition].offsetFor(since)).toArray();
+    long deadline = System.currentTimeMillis() + timeout.toMillis();
+    return StreamSupport.stream(new LogSpliterator(log, positions, null, deadline, timeout.toMillis()), false);
+  }
+
+  @Override
+  public Stream<ConsumerRecord<String, String>> drainMessages(String url, String topic, Instant since, Duration timeout) {
+    Topic log = topic(url, topic);
+    long[] positions = IntStream.range(0, partitions).mapToLong(partition -> log.partitions[partition].offsetFor(since)).toArray();
+    long[] ends = IntStream.range(0, partitions).mapToLong(partition -> log.partitions[partition].size()).toArray();
+    return StreamSupport.stream(new LogSpliterator(log, positions, ends, -1, timeout.toMillis()), false);
+  }
+
+  /**
+   * @return timestamp of since, or Long.MIN_VALUE to read from the beginning when since is null
+   */
+  private static long epochMillis(Instant since) {
+    return since == null ? Long.MIN_VALUE : since.toEpochMilli();
+  }
+
+  private Topic topic(String url, String topic) {
+    return topics.computeIfAbsent(url + "/" + topic, key -> new Topic(topic, partitions));
+  }
+
+  private final class Topic {
+
+    private final String name;
+    private final Partition[] partitions;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final Map<String, Queue<ConsumerRecord<String, String>>> byRequestId = new ConcurrentHashMap<>();
+
+    private Topic(String name, int count) {
+      this.name = name;
+      this.partitions = IntStream.range(0, count).mapToObj(partition -> new Partition()).toArray(Partition[]::new);
+    }
+
+    private RecordMetadata append(String key, List<Header> headers, String message) {
+      int partition = key == null
+        ? Math.floorMod(roundRobin.getAndIncrement(), partitions.length)
+        : KafkaRecords.partitionForKey(key, partitions.length);
+      int keySize = key == null ? ConsumerRecord.NULL_SIZE : key.getBytes(StandardCharsets.UTF_8).length;
+      int valueSize = message == null ? ConsumerRecord.NULL_SIZE : message.getBytes(StandardCharsets.UTF_8).length;
+      ConsumerRecord<String, String> record = partitions[partition].append(offset -> new ConsumerRecord<>(
+        name, partition, offset, System.currentTimeMillis(), TimestampType.CREATE_TIME,
+        keySize, valueSize, key, message, new RecordHeaders(headers), Optional.empty()));
+      String requestId = KafkaRecords.requestId(record);
+      if (requestId != null) {
+        byRequestId.computeIfAbsent(requestId, id -> new ConcurrentLinkedQueue<>()).add(record);
+      }
+      return new RecordMetadata(
+        new TopicPartition(name, partition), record.offset(), 0, record.timestamp(), keySize, valueSize);
+    }
+
+    /**
+     * Report a round of reads across the partitions as one poll
+     */
+    private void polled(int count) {
+      if (count > 0) {
+        pollListeners.forEach(listener -> listener.accept(name, count));
+      }
+    }
+
+    private List<String> await(String requestId, Predicate<ConsumerRecord<String, String>> filter) {
+      long deadline = System.currentTimeMillis() + CONSUMER_POOL_DURATION;
+      while (true) {
+        Queue<ConsumerRecord<String, String>> records = byRequestId.get(requestId);
+        if (records != null) {
+          List<String> messages = records.stream()
+            .filter(filter)
+            .limit(KAFKA_MAX_MESSAGES_VALUE)
+            .map(ConsumerRecord::value)
+            .toList();
+          if (!messages.isEmpty()) {
+            return messages;
+          }
+        }
+        if (System.currentTimeMillis() >= deadline) {
+          return List.of();
+        }
+        LockSupport.parkNanos(IDLE_WAIT_NANOS);
+      }
+    }
+  }
+
+  private static final class Partition {
+
+    private final List<ConsumerRecord<String, String>> log = new ArrayList<>();
+
+    private synchronized ConsumerRecord<String, String> append(LongFunction<ConsumerRecord<String, String>> record) {
+      ConsumerRecord<String, String> appended = record.apply(log.size());
+      log.add(appended);
+      return appended;
+    }
+
+    private synchronized long size() {
+      return log.size();
+    }
+
+    private synchronized List<ConsumerRecord<String, String>> read(long from, long to, int max) {
+      int end = (int) Math.min(Math.min(to, log.size()), from + max);
+      return from >= end ? List.of() : new ArrayList<>(log.subList((int) from, end));
+    }
+
+    /**
+     * @return first offset with a timestamp not older than since, or 0 when since is null
+     */
+    private synchronized long offsetFor(Instant since) {
+      if (since == null) {
+        return 0;
+      }
+      long timestamp = since.toEpochMilli();
+      int low = 0;
+      int high = log.size();
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (log.get(middle).timestamp() < timestamp) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+
+  /**
+   * Reads partitions round-robin from the given positions, either up to fixed end offsets
+   * or, without end offsets, waiting for new records until the deadline
+   */
+  private static final class LogSpliterator extends Spliterators.AbstractSpliterator<ConsumerRecord<String, String>> {
+
+    private final Topic topic;
+    private final long[] positions;
+    private final long[] ends;
+    private final long timeoutMs;
+    private final Deque<ConsumerRecord<String, String>> buffer = new ArrayDeque<>();
+    private long deadline;
+
+    /**
+     * @param deadline time at which the stream ends, or -1 to start the timeout on the first read
+     * @param timeoutMs time from the first read after which the stream ends when no deadline is given
+     */
+    private LogSpliterator(Topic topic, long[] positions, long[] ends, long deadline, long timeoutMs) {
+      super(Long.MAX_VALUE, Spliterator.NONNULL);
+      this.topic = topic;
+      this.positions = positions;
+      this.ends = ends;
+      this.deadline = deadline;
+      this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ConsumerRecord<String, String>> action) {
+      if (deadline < 0) {
+        deadline = System.currentTimeMillis() + timeoutMs;
+      }
+      while (buffer.isEmpty()) {
+        boolean exhausted = true;
+        for (int partition = 0; partition < positions.length; partition++) {
+          long end = ends == null ? Long.MAX_VALUE : ends[partition];
+          List<ConsumerRecord<String, String>> records = topic.partitions[partition].read(positions[partition], end, BATCH_SIZE);
+          positions[partition] += records.size();
+          buffer.addAll(records);
+          exhausted &= positions[partition] >= end;
+        }
+        topic.polled(buffer.size());
+        if (buffer.isEmpty()) {
+          if (ends != null && exhausted) {
+            return false;
+          }
+          if (System.currentTimeMillis() >= deadline) {
+            if (ends != null) {
+              throw new RuntimeException("Timed out before draining all partitions of topic " + topic.name
+                + " up to their end offsets");
+            }
+            return false;
+          }
+          LockSupport.parkNanos(IDLE_WAIT_NANOS);
+        }
+      }
+      action.accept(buffer.poll());
+      return true;
+    }
+  }
+}
@@ -1,32 +1,219 @@
 package clients.base.kafka.impl;
 
 import clients.base.kafka.interfaces.IBroker;
+import clients.base.kafka.model.ProducerRecordSpec;
+import clients.base.kafka.model.SendResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.header.Header;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static config.PropsConfig.getProps;
 
 @Slf4j
 public class KafkaImpl implements IBroker {
 
-  private final String KEYSTORE = getProps().kafkaKeystore();
-  private final String TRUSTSTORE = getProps().kafkaTruststore();
-  private final String KEYSTORE_PSW = getProps().kafkaKeystorePassword();
-  private final String TRUSTSTORE_PSW = getProps().kafkaTruststorePassword();
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
 
   private final long CONSUMER_POOL_DURATION = getProps().consumerPoolDuration();
-  private final long PRODUCER_RECORD_TIMEOUT = getProps().producerRecordTimeout();
   private final int KAFKA_MAX_MESSAGES_VALUE = getProps().kafkaMaxMessagesValue();
 
   @Override
   public void sendMessage(String url, String topic, String key, List<Header> headers, String message) {
+    try {
+      sendMessageAsync(url, topic, key, headers, message).join();
+    } catch (CompletionException e) {
+      log.error("Error sending message to topic {}: {}", topic, e.getCause().getMessage(), e.getCause());
+      throw new RuntimeException("Failed to send message to topic " + topic, e.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<RecordMetadata> sendMessageAsync(
+    String url, String topic, String key, List<Header> headers, String message) {
+    CompletableFuture<RecordMetadata> result = new CompletableFuture<>();
+    try {
+      KafkaProducerPool.get(url).send(new ProducerRecord<>(topic, null, key, message, headers), (metadata, exception) -> {
+        if (exception != null) {
+          result.completeExceptionally(exception);
+        } else {
+          result.complete(metadata);
+        }
+      });
+    } catch (Exception e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  @Override
+  public List<SendResult> sendMessages(String url, String topic, List<ProducerRecordSpec> records) {
+    List<CompletableFuture<SendResult>> results = records.stream()
+      .map(record -> {
+        long start = System.nanoTime();
+        return sendMessageAsync(url, topic, record.key(), record.headers(), record.message())
+          .handle((metadata, exception) -> {
+            Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            if (exception != null) {
+              log.error("Error sending message to topic {}: {}", topic, exception.getMessage(), exception);
+              return SendResult.failed(exception, latency);
+            }
+            return SendResult.acknowledged(metadata.partition(), metadata.offset(), latency);
+          });
+      })
+      .toList();
+    return results.stream().map(CompletableFuture::join).toList();
+  }
 
+  @Override
+  public void flush(String url) {
+    KafkaProducerPool.flush(url);
+  }
+
+  @Override
+  public Map<MetricName, ? extends Metric> metrics(String url) {
+    Map<MetricName, Metric> metrics = new HashMap<>(KafkaProducerPool.metrics(url));
+    metrics.putAll(KafkaRequestIndex.metrics(url));
+    return metrics;
+  }
+
+  @Override
+  public void addPollListener(ObjIntConsumer<String> listener) {
+    KafkaRecords.addPollListener(listener);
   }
 
   @Override
   public List<String> getMessages(String url, String topic, String requestId) {
-    return List.of();
+    return KafkaRequestIndex.of(url, topic).getMessages(requestId, CONSUMER_POOL_DURATION, KAFKA_MAX_MESSAGES_VALUE);
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String key, String requestId) {
+    return getMessages(url, topic, key, requestId, null);
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String requestId, Instant since) {
+    try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(KafkaProperties.consumer(url))) {
+      List<TopicPartition> partitions = KafkaRecords.partitions(consumer, topic);
+      consumer.assign(partitions);
+      KafkaRecords.seek(consumer, partitions, since);
+      return scan(consumer, partitions, requestId);
+    }
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String key, String requestId, Instant since) {
+    KafkaRecords.requireKey(key);
+    try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(KafkaProperties.consumer(url))) {
+      int partition = KafkaRecords.partitionForKey(key, consumer.partitionsFor(topic).size());
+      List<TopicPartition> partitions = List.of(new TopicPartition(topic, partition));
+      consumer.assign(partitions);
+      KafkaRecords.seek(consumer, partitions, since);
+      return scan(consumer, partitions, requestId);
+    }
+  }
+
+  @Override
+  public Stream<ConsumerRecord<String, String>> streamMessages(String url, String topic, Instant since, Duration timeout) {
+    KafkaConsumer<String, String> consumer = new KafkaConsumer<>(KafkaProperties.consumer(url));
+    try {
+      List<TopicPartition> partitions = KafkaRecords.partitions(consumer, topic);
+      consumer.assign(partitions);
+      KafkaRecords.seek(consumer, partitions, since);
+    } catch (RuntimeException e) {
+      consumer.close();
+      throw e;
+    }
+    PollingSpliterator spliterator = new PollingSpliterator(consumer, System.currentTimeMillis() + timeout.toMillis());
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  @Override
+  public Stream<ConsumerRecord<String, String>> drainMessages(String url, String topic, Instant since, Duration timeout) {
+    return KafkaPartitionDrain.drain(url, topic, since, timeout);
+  }
+
+  /**
+   * Poll the assigned partitions for CONSUMER_POOL_DURATION collecting messages with the requestId.
+   * Stops early once something was found and every partition is read up to its end offset.
+   */
+  private List<String> scan(KafkaConsumer<String, String> consumer, Collection<TopicPartition> partitions, String requestId) {
+    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+    List<String> messages = new ArrayList<>();
+    long deadline = System.currentTimeMillis() + CONSUMER_POOL_DURATION;
+    while (System.currentTimeMillis() < deadline && messages.size() < KAFKA_MAX_MESSAGES_VALUE) {
+      for (ConsumerRecord<String, String> record : KafkaRecords.poll(consumer, POLL_TIMEOUT)) {
+        if (requestId.equals(KafkaRecords.requestId(record))) {
+          messages.add(record.value());
+        }
+      }
+      if (!messages.isEmpty() && endOffsets.entrySet().stream()
+        .allMatch(end -> consumer.position(end.getKey()) >= end.getValue())) {
+        break;
+      }
+    }
+    return messages.size() > KAFKA_MAX_MESSAGES_VALUE ? messages.subList(0, KAFKA_MAX_MESSAGES_VALUE) : messages;
+  }
+
+  /**
+   * Pulls records from the consumer one poll at a time until the deadline,
+   * closing the consumer when exhausted or when the stream is closed
+   */
+  private static final class PollingSpliterator extends Spliterators.AbstractSpliterator<ConsumerRecord<String, String>> {
+
+    private final KafkaConsumer<String, String> consumer;
+    private final long deadline;
+    private final Deque<ConsumerRecord<String, String>> buffer = new ArrayDeque<>();
+    private boolean closed;
+
+    private PollingSpliterator(KafkaConsumer<String, String> consumer, long deadline) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+      this.consumer = consumer;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ConsumerRecord<String, String>> action) {
+      while (buffer.isEmpty() && !closed && System.currentTimeMillis() < deadline) {
+        KafkaRecords.poll(consumer, POLL_TIMEOUT).forEach(buffer::add);
+      }
+      if (buffer.isEmpty()) {
+        close();
+        return false;
+      }
+      action.accept(buffer.poll());
+      return true;
+    }
+
+    private void close() {
+      if (!closed) {
+        closed = true;
+        consumer.close();
+      }
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package clients.base.kafka.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * Reads every partition of a topic up to its current end offset with one virtual-thread
+ * consumer per partition. Workers hand records over through a bounded queue, so a slow
+ * reader blocks the workers instead of growing the heap. Records of one partition keep their order.
+ * Workers start on the first read, and the stream fails if the timeout passes before every partition
+ * reaches its end offset, so a truncated drain is never mistaken for a complete one.
+ */
+@Slf4j
+final class KafkaPartitionDrain extends Spliterators.AbstractSpliterator<ConsumerRecord<String, String>> {
+
+  private static final int BUFFER_SIZE = getProps().kafkaDrainBufferSize();
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+  private static final ConsumerRecord<String, String> END = new ConsumerRecord<>("", -1, -1, null, null);
+
+  private final BlockingQueue<ConsumerRecord<String, String>> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final AtomicBoolean truncated = new AtomicBoolean();
+  private final String url;
+  private final String topic;
+  private final Instant since;
+  private final Duration timeout;
+  private ExecutorService workers;
+  private long deadline;
+  private int running;
+
+  private KafkaPartitionDrain(String url, String topic, Instant since, Duration timeout) {
+    super(Long.MAX_VALUE, Spliterator.NONNULL);
+    this.url = url;
+    this.topic = topic;
+    this.since = since;
+    this.timeout = timeout;
+  }
+
+  /**
+   * @param since earliest record timestamp to read, or null to read from the beginning
+   * @param timeout time from the first read after which the workers stop; the stream then fails
+   *                if some partition has not reached its end offset
+   * @return records of all partitions, the stream must be closed
+   */
+  static Stream<ConsumerRecord<String, String>> drain(String url, String topic, Instant since, Duration timeout) {
+    KafkaPartitionDrain drain = new KafkaPartitionDrain(url, topic, since, timeout);
+    return StreamSupport.stream(drain, false).onClose(drain::close);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super ConsumerRecord<String, String>> action) {
+    if (workers == null) {
+      start();
+    }
+    try {
+      while (running > 0) {
+        ConsumerRecord<String, String> record = queue.take();
+        if (record != END) {
+          action.accept(record);
+          return true;
+        }
+        running--;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      workers.shutdownNow();
+      throw new RuntimeException("Interrupted while draining Kafka partitions", e);
+    }
+    workers.shutdown();
+    Throwable error = failure.get();
+    if (error != null) {
+      throw new RuntimeException("Failed to drain Kafka partitions", error);
+    }
+    if (truncated.get()) {
+      throw new RuntimeException("Timed out after " + timeout.toMillis() + "ms before draining all partitions of topic "
+        + topic + " up to their end offsets");
+    }
+    return false;
+  }
+
+  private void start() {
+    List<TopicPartition> partitions;
+    try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(KafkaProperties.consumer(url))) {
+      partitions = KafkaRecords.partitions(consumer, topic);
+    }
+    deadline = System.currentTimeMillis() + timeout.toMillis();
+    running = partitions.size();
+    workers = Executors.newVirtualThreadPerTaskExecutor();
+    partitions.forEach(partition -> workers.submit(() -> read(partition)));
+  }
+
+  private void close() {
+    if (workers != null) {
+      workers.shutdownNow();
+    }
+  }
+
+  private void read(TopicPartition partition) {
+    try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(KafkaProperties.consumer(url))) {
+      consumer.assign(List.of(partition));
+      KafkaRecords.seek(consumer, List.of(partition), since);
+      long end = consumer.endOffsets(List.of(partition)).get(partition);
+      while (consumer.position(partition) < end && System.currentTimeMillis() < deadline) {
+        for (ConsumerRecord<String, String> record : KafkaRecords.poll(consumer, POLL_TIMEOUT)) {
+          if (record.offset() >= end) {
+            break;
+          }
+          queue.put(record);
+        }
+      }
+      if (consumer.position(partition) < end) {
+        log.warn("Draining partition {} stopped at the deadline before end offset {}", partition, end);
+        truncated.set(true);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (Exception e) {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      log.error("Error draining partition {}: {}", partition, e.getMessage(), e);
+      failure.compareAndSet(null, e);
+    }
+    try {
+      queue.put(END);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
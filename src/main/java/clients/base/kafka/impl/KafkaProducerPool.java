@@ -0,0 +1,78 @@
+package clients.base.kafka.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.errors.InterruptException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * JVM-wide registry of producers keyed by cluster url.
+ * Producers are thread-safe, so one instance per cluster serves every test
+ * and keeps its connections and TLS sessions open until the JVM exits.
+ */
+@Slf4j
+final class KafkaProducerPool {
+
+  private static final long PRODUCER_RECORD_TIMEOUT = getProps().producerRecordTimeout();
+  private static final Map<String, KafkaProducer<String, String>> PRODUCERS = new ConcurrentHashMap<>();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(KafkaProducerPool::closeAll, "kafka-producer-pool-shutdown"));
+  }
+
+  private KafkaProducerPool() {
+  }
+
+  static KafkaProducer<String, String> get(String url) {
+    return PRODUCERS.computeIfAbsent(url, KafkaProducerPool::create);
+  }
+
+  /**
+   * @return metrics of the cluster producer, empty if it was not created yet
+   */
+  static Map<MetricName, ? extends Metric> metrics(String url) {
+    KafkaProducer<String, String> producer = PRODUCERS.get(url);
+    return producer == null ? Map.of() : producer.metrics();
+  }
+
+  /**
+   * Wait until every buffered record of the cluster producer is acknowledged or has failed.
+   * The wait is bounded by delivery.timeout.ms, set from PRODUCER_RECORDS_TIMEOUT, after which pending records fail.
+   *
+   * @param url bootstrap servers
+   */
+  static void flush(String url) {
+    KafkaProducer<String, String> producer = PRODUCERS.get(url);
+    if (producer == null) {
+      return;
+    }
+    try {
+      producer.flush();
+    } catch (InterruptException e) {
+      throw new RuntimeException("Interrupted while flushing Kafka producer for " + url, e);
+    }
+  }
+
+  static void closeAll() {
+    PRODUCERS.forEach((url, producer) -> {
+      try {
+        producer.close(Duration.ofMillis(PRODUCER_RECORD_TIMEOUT));
+      } catch (Exception e) {
+        log.error("Error closing Kafka producer for {}: {}", url, e.getMessage(), e);
+      }
+    });
+    PRODUCERS.clear();
+  }
+
+  private static KafkaProducer<String, String> create(String url) {
+    log.info("Creating Kafka producer for {}", url);
+    return new KafkaProducer<>(KafkaProperties.producer(url));
+  }
+}
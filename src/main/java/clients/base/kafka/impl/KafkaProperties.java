@@ -0,0 +1,82 @@
+package clients.base.kafka.impl;
+
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.util.Properties;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * Builds Kafka client configurations for a cluster
+ */
+final class KafkaProperties {
+
+  private static final String KEYSTORE = getProps().kafkaKeystore();
+  private static final String TRUSTSTORE = getProps().kafkaTruststore();
+  private static final String KEYSTORE_PSW = getProps().kafkaKeystorePassword();
+  private static final String TRUSTSTORE_PSW = getProps().kafkaTruststorePassword();
+  private static final int DEFAULT_REQUEST_TIMEOUT_MS = 30_000;
+
+  private KafkaProperties() {
+  }
+
+  /**
+   * Producer configuration tuned for batching. A record is acknowledged or failed within
+   * PRODUCER_RECORDS_TIMEOUT: it is the delivery timeout, and linger and request timeouts
+   * are capped so that delivery.timeout.ms >= linger.ms + request.timeout.ms still holds
+   *
+   * @param url bootstrap servers
+   * @return producer properties
+   */
+  static Properties producer(String url) {
+    Properties props = common(url);
+    props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+    long deliveryTimeout = getProps().producerRecordTimeout();
+    if (deliveryTimeout <= 0) {
+      throw new IllegalArgumentException("PRODUCER_RECORDS_TIMEOUT must be positive: " + deliveryTimeout);
+    }
+    long linger = Math.min(getProps().kafkaProducerLingerMs(), deliveryTimeout / 2);
+    long requestTimeout = Math.min(DEFAULT_REQUEST_TIMEOUT_MS, deliveryTimeout - linger);
+    props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) Math.min(Integer.MAX_VALUE, deliveryTimeout));
+    props.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) requestTimeout);
+    props.put(ProducerConfig.LINGER_MS_CONFIG, (int) linger);
+    props.put(ProducerConfig.BATCH_SIZE_CONFIG, getProps().kafkaProducerBatchSize());
+    props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, getProps().kafkaProducerCompressionType());
+    return props;
+  }
+
+  /**
+   * Consumer configuration without a consumer group: partitions are assigned
+   * explicitly and offsets are never committed
+   *
+   * @param url bootstrap servers
+   * @return consumer properties
+   */
+  static Properties consumer(String url) {
+    Properties props = common(url);
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+    props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    return props;
+  }
+
+  private static Properties common(String url) {
+    Properties props = new Properties();
+    props.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, url);
+    if (KEYSTORE != null && !KEYSTORE.isEmpty()) {
+      props.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SSL");
+      props.put(SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG, KEYSTORE);
+      props.put(SslConfigs.SSL_KEYSTORE_PASSWORD_CONFIG, KEYSTORE_PSW);
+      props.put(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG, TRUSTSTORE);
+      props.put(SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG, TRUSTSTORE_PSW);
+    }
+    return props;
+  }
+}
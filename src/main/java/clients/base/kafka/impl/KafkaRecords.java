@@ -0,0 +1,108 @@
+package clients.base.kafka.impl;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjIntConsumer;
+
+import static constants.KafkaAttributes.REQUEST_ID;
+
+/**
+ * Helpers shared by the Kafka consumers
+ */
+final class KafkaRecords {
+
+  private static final List<ObjIntConsumer<String>> POLL_LISTENERS = new CopyOnWriteArrayList<>();
+
+  private KafkaRecords() {
+  }
+
+  /**
+   * Register a listener called with the topic and record count of every non-empty poll of any consumer
+   */
+  static void addPollListener(ObjIntConsumer<String> listener) {
+    POLL_LISTENERS.add(listener);
+  }
+
+  /**
+   * Poll the consumer and report the record count of each topic to the poll listeners
+   */
+  static ConsumerRecords<String, String> poll(KafkaConsumer<String, String> consumer, Duration timeout) {
+    ConsumerRecords<String, String> records = consumer.poll(timeout);
+    if (!records.isEmpty() && !POLL_LISTENERS.isEmpty()) {
+      Map<String, Integer> counts = new HashMap<>();
+      records.partitions().forEach(partition -> counts.merge(partition.topic(), records.records(partition).size(), Integer::sum));
+      counts.forEach((topic, count) -> POLL_LISTENERS.forEach(listener -> listener.accept(topic, count)));
+    }
+    return records;
+  }
+
+  /**
+   * @return value of the requestId header, or null if the record has none
+   */
+  static String requestId(ConsumerRecord<String, String> record) {
+    Header header = record.headers().lastHeader(REQUEST_ID);
+    return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the key of a keyed lookup
+   * @throws IllegalArgumentException if the key is null, since records without a key are not bound to a partition
+   */
+  static String requireKey(String key) {
+    if (key == null) {
+      throw new IllegalArgumentException(
+        "Key must not be null: records without a key are spread over all partitions, look them up without a key");
+    }
+    return key;
+  }
+
+  /**
+   * Partition chosen by the default producer partitioner for a non-null key
+   *
+   * @param key message key
+   * @param partitions number of partitions of the topic
+   * @return partition number
+   */
+  static int partitionForKey(String key, int partitions) {
+    return Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % partitions;
+  }
+
+  /**
+   * @return all partitions of the topic
+   */
+  static List<TopicPartition> partitions(KafkaConsumer<String, String> consumer, String topic) {
+    return consumer.partitionsFor(topic).stream()
+      .map(info -> new TopicPartition(topic, info.partition()))
+      .toList();
+  }
+
+  /**
+   * Position the partitions at the first record not older than since,
+   * or at the beginning when since is null. Partitions without such records are positioned at the end offsets
+   * read before the lookup, so records produced after this call are not skipped by a lazy seekToEnd.
+   */
+  static void seek(KafkaConsumer<String, String> consumer, Collection<TopicPartition> partitions, Instant since) {
+    if (since == null) {
+      consumer.seekToBeginning(partitions);
+      return;
+    }
+    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+    Map<TopicPartition, Long> timestamps = new HashMap<>();
+    partitions.forEach(partition -> timestamps.put(partition, since.toEpochMilli()));
+    consumer.offsetsForTimes(timestamps).forEach((partition, offset) ->
+      consumer.seek(partition, offset == null ? endOffsets.get(partition) : offset.offset()));
+  }
+}
@@ -0,0 +1,182 @@
+package clients.base.kafka.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * Shared background consumer of one topic that indexes records by the requestId header.
+ * Every test waiting on the same topic reads from the index, so the topic is consumed
+ * once instead of once per lookup. The consumer starts KAFKA_INDEX_LOOKBACK_MS before the index
+ * is created, so requests sent shortly before the first lookup are still found.
+ * The index keeps the last KAFKA_INDEX_CAPACITY request ids; ids somebody is still waiting for are never evicted.
+ */
+@Slf4j
+final class KafkaRequestIndex {
+
+  private static final int CAPACITY = getProps().kafkaIndexCapacity();
+  private static final long LOOKBACK_MS = getProps().kafkaIndexLookbackMs();
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+  private static final Map<String, KafkaRequestIndex> INDEXES = new ConcurrentHashMap<>();
+
+  private final String key;
+  private final String topic;
+  private final Instant start;
+  private final KafkaConsumer<String, String> consumer;
+  private final Map<MetricName, ? extends Metric> metrics;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  private KafkaRequestIndex(String key, String url, String topic) {
+    this.key = key;
+    this.topic = topic;
+    this.start = Instant.now().minusMillis(LOOKBACK_MS);
+    this.consumer = new KafkaConsumer<>(KafkaProperties.consumer(url));
+    this.metrics = consumer.metrics();
+    Thread worker = new Thread(this::run, "kafka-index-" + topic);
+    worker.setDaemon(true);
+    worker.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(consumer::wakeup, "kafka-index-shutdown-" + topic));
+  }
+
+  static KafkaRequestIndex of(String url, String topic) {
+    return INDEXES.computeIfAbsent(url + "/" + topic, key -> new KafkaRequestIndex(key, url, topic));
+  }
+
+  /**
+   * @return metrics of the index consumers of the cluster, including the lag per partition
+   */
+  static Map<MetricName, Metric> metrics(String url) {
+    Map<MetricName, Metric> metrics = new HashMap<>();
+    INDEXES.forEach((key, index) -> {
+      if (key.startsWith(url + "/")) {
+        metrics.putAll(index.metrics);
+      }
+    });
+    return metrics;
+  }
+
+  /**
+   * Wait for messages with the given requestId.
+   * Returns as soon as the first message is indexed, with the messages indexed up to that moment.
+   *
+   * @param requestId value of the requestId header
+   * @param timeoutMs maximum time to wait for the first message
+   * @param maxMessages maximum number of messages to return
+   * @return messages indexed so far, empty if none arrived in time
+   */
+  List<String> getMessages(String requestId, long timeoutMs, int maxMessages) {
+    Entry entry = entries.compute(requestId, (key, existing) -> {
+      Entry waited = existing == null ? newEntry(key) : existing;
+      waited.waiters.incrementAndGet();
+      return waited;
+    });
+    evict();
+    try {
+      entry.arrived.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn("No messages with requestId {} in topic {} after {}ms", requestId, topic, timeoutMs);
+      return List.of();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return List.of();
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Kafka index for topic " + topic + " failed", e.getCause());
+    } finally {
+      release(requestId, entry);
+    }
+    return entry.messages.stream().limit(maxMessages).toList();
+  }
+
+  private Entry newEntry(String requestId) {
+    insertionOrder.add(requestId);
+    return new Entry();
+  }
+
+  /**
+   * Drop the entry of a request nobody waits for any more and that never arrived
+   */
+  private void release(String requestId, Entry entry) {
+    if (entry.waiters.decrementAndGet() == 0 && !entry.arrived.isDone() && entries.remove(requestId, entry)) {
+      insertionOrder.remove(requestId);
+    }
+  }
+
+  /**
+   * Remove the eldest entries above the capacity, skipping the ones that are still awaited
+   */
+  private void evict() {
+    int candidates = entries.size();
+    while (entries.size() > CAPACITY && candidates-- > 0) {
+      String eldest = insertionOrder.poll();
+      if (eldest == null) {
+        break;
+      }
+      Entry kept = entries.computeIfPresent(eldest, (key, entry) -> entry.isAwaited() ? entry : null);
+      if (kept != null) {
+        insertionOrder.add(eldest);
+      }
+    }
+  }
+
+  private void run() {
+    try (consumer) {
+      List<TopicPartition> partitions = KafkaRecords.partitions(consumer, topic);
+      consumer.assign(partitions);
+      KafkaRecords.seek(consumer, partitions, start);
+      while (!Thread.currentThread().isInterrupted()) {
+        for (ConsumerRecord<String, String> record : KafkaRecords.poll(consumer, POLL_TIMEOUT)) {
+          index(record);
+        }
+      }
+    } catch (WakeupException e) {
+      log.debug("Kafka index for topic {} stopped", topic);
+    } catch (Exception e) {
+      log.error("Kafka index for topic {} failed: {}", topic, e.getMessage(), e);
+      INDEXES.remove(key, this);
+      entries.values().forEach(entry -> entry.arrived.completeExceptionally(e));
+    }
+  }
+
+  private void index(ConsumerRecord<String, String> record) {
+    String requestId = KafkaRecords.requestId(record);
+    if (requestId == null) {
+      return;
+    }
+    Entry entry = entries.computeIfAbsent(requestId, this::newEntry);
+    entry.messages.add(record.value());
+    entry.arrived.complete(null);
+    evict();
+  }
+
+  private static final class Entry {
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<Void> arrived = new CompletableFuture<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private boolean isAwaited() {
+      return waiters.get() > 0 || !arrived.isDone();
+    }
+  }
+}
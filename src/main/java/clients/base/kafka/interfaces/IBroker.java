@@ -1,12 +1,110 @@
 package clients.base.kafka.interfaces;
 
+import clients.base.kafka.model.ProducerRecordSpec;
+import clients.base.kafka.model.SendResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.header.Header;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
 
 public interface IBroker {
 
   void sendMessage(String url, String topic, String key, List<Header> headers, String message);
 
+  /**
+   * Send a message without waiting for the broker acknowledgement
+   *
+   * @return future completed with the record metadata once the record is acknowledged
+   */
+  CompletableFuture<RecordMetadata> sendMessageAsync(String url, String topic, String key, List<Header> headers, String message);
+
+  /**
+   * Send all records at once and wait for their acknowledgements together.
+   * A failed record does not fail the batch, its result carries the error instead
+   *
+   * @return one result per record, in the order of the given records
+   */
+  List<SendResult> sendMessages(String url, String topic, List<ProducerRecordSpec> records);
+
+  /**
+   * Block until all records sent to the cluster are acknowledged
+   */
+  void flush(String url);
+
+  /**
+   * Metrics of the Kafka clients connected to the cluster
+   */
+  Map<MetricName, ? extends Metric> metrics(String url);
+
+  /**
+   * Register a listener called with the topic and record count of every non-empty poll made to read
+   * from the cluster. The listener stays registered for the lifetime of the process
+   */
+  void addPollListener(ObjIntConsumer<String> listener);
+
+  /**
+   * Wait for messages with the given requestId in a shared index of the topic.
+   * Returns as soon as the first message arrives, with the messages received up to that moment,
+   * instead of collecting everything that arrives within CONSUMER_POOL_DURATION.
+   * Use the since overload to read all messages of a request.
+   *
+   * @param requestId value of the requestId header
+   * @return messages received so far, empty if none arrived within CONSUMER_POOL_DURATION
+   */
   List<String> getMessages(String url, String topic, String requestId);
-}
\ No newline at end of file
+
+  /**
+   * Read messages from the single partition the key is mapped to by the default partitioner
+   *
+   * @param key key the messages were produced with
+   * @param requestId value of the requestId header
+   */
+  List<String> getMessages(String url, String topic, String key, String requestId);
+
+  /**
+   * Read messages from all partitions starting at the offsets of the given instant
+   *
+   * @param requestId value of the requestId header
+   * @param since earliest record timestamp to read, e.g. the moment the request was sent
+   */
+  List<String> getMessages(String url, String topic, String requestId, Instant since);
+
+  /**
+   * Read messages from the partition of the key starting at the offset of the given instant
+   *
+   * @param key key the messages were produced with
+   * @param requestId value of the requestId header
+   * @param since earliest record timestamp to read, e.g. the moment the request was sent
+   */
+  List<String> getMessages(String url, String topic, String key, String requestId, Instant since);
+
+  /**
+   * Lazily read records of all partitions as they arrive.
+   * Records are polled only while the stream is consumed, so short-circuiting operations
+   * such as anyMatch or limit stop the consumption. The stream must be closed.
+   *
+   * @param since earliest record timestamp to read, or null to read from the beginning
+   * @param timeout time after which the stream ends
+   */
+  Stream<ConsumerRecord<String, String>> streamMessages(String url, String topic, Instant since, Duration timeout);
+
+  /**
+   * Read all partitions up to their current end offsets in parallel, one consumer per partition.
+   * Records of a partition keep their order, partitions are interleaved. The stream must be closed.
+   * Reading starts when the stream is first consumed. If the timeout passes before every partition reaches
+   * its end offset, the stream throws a RuntimeException after delivering the records read so far.
+   *
+   * @param since earliest record timestamp to read, or null to read from the beginning
+   * @param timeout time from the first read after which the reading stops
+   */
+  Stream<ConsumerRecord<String, String>> drainMessages(String url, String topic, Instant since, Duration timeout);
+}
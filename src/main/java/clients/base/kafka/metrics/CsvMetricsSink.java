@@ -0,0 +1,63 @@
+package clients.base.kafka.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Appends every snapshot to a CSV file with the columns timestamp,name,labels,value
+ */
+@Slf4j
+public class CsvMetricsSink implements MetricsSink {
+
+  private static final String HEADER = "timestamp,name,labels,value";
+
+  private final Path path;
+
+  /**
+   * @param path CSV file, created with a header if it does not exist
+   */
+  public CsvMetricsSink(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public synchronized void publish(long timestamp, List<MetricSample> samples) {
+    try {
+      if (Files.notExists(path)) {
+        if (path.getParent() != null) {
+          Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+      }
+      Files.write(path, samples.stream().map(sample -> timestamp + "," + row(sample)).toList(),
+        StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      log.error("Error writing Kafka metrics to {}: {}", path, e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String format(List<MetricSample> samples) {
+    return samples.stream()
+      .map(CsvMetricsSink::row)
+      .collect(Collectors.joining(System.lineSeparator(), "name,labels,value" + System.lineSeparator(), ""));
+  }
+
+  private static String row(MetricSample sample) {
+    return sample.name() + "," + labels(sample.labels()) + "," + sample.value();
+  }
+
+  private static String labels(Map<String, String> labels) {
+    return labels.entrySet().stream()
+      .map(label -> label.getKey() + "=" + label.getValue())
+      .collect(Collectors.joining(";", "\"", "\""));
+  }
+}
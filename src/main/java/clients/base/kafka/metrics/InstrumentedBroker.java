@@ -0,0 +1,141 @@
+package clients.base.kafka.metrics;
+
+import clients.base.kafka.interfaces.IBroker;
+import clients.base.kafka.model.ProducerRecordSpec;
+import clients.base.kafka.model.SendResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.header.Header;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * IBroker decorator recording throughput, acknowledgement latency and the record counts of consumer polls.
+ * Usage: {@code new KafkaBrokerClient(new InstrumentedBroker(new KafkaImpl(), metrics))}
+ */
+public class InstrumentedBroker implements IBroker {
+
+  private final IBroker broker;
+  private final KafkaMetrics metrics;
+
+  /**
+   * @param broker instrumented implementation
+   * @param metrics recorder of the measurements
+   */
+  public InstrumentedBroker(IBroker broker, KafkaMetrics metrics) {
+    this.broker = broker;
+    this.metrics = metrics;
+    broker.addPollListener(metrics::recordReceivedBatch);
+  }
+
+  @Override
+  public void sendMessage(String url, String topic, String key, List<Header> headers, String message) {
+    long start = System.nanoTime();
+    try {
+      broker.sendMessage(url, topic, key, headers, message);
+      metrics.recordSent(topic, size(message), System.nanoTime() - start);
+    } catch (RuntimeException e) {
+      metrics.recordSendError(topic);
+      throw e;
+    }
+  }
+
+  @Override
+  public CompletableFuture<RecordMetadata> sendMessageAsync(
+    String url, String topic, String key, List<Header> headers, String message) {
+    long start = System.nanoTime();
+    return broker.sendMessageAsync(url, topic, key, headers, message).whenComplete((metadata, exception) -> {
+      if (exception != null) {
+        metrics.recordSendError(topic);
+      } else {
+        metrics.recordSent(topic, size(message), System.nanoTime() - start);
+      }
+    });
+  }
+
+  @Override
+  public List<SendResult> sendMessages(String url, String topic, List<ProducerRecordSpec> records) {
+    try {
+      List<SendResult> results = broker.sendMessages(url, topic, records);
+      for (int i = 0; i < results.size(); i++) {
+        SendResult result = results.get(i);
+        if (result.isFailed()) {
+          metrics.recordSendError(topic);
+        } else {
+          metrics.recordSent(topic, size(records.get(i).message()), result.latency().toNanos());
+        }
+      }
+      return results;
+    } catch (RuntimeException e) {
+      metrics.recordSendError(topic);
+      throw e;
+    }
+  }
+
+  @Override
+  public void flush(String url) {
+    broker.flush(url);
+  }
+
+  @Override
+  public Map<MetricName, ? extends Metric> metrics(String url) {
+    return broker.metrics(url);
+  }
+
+  @Override
+  public void addPollListener(ObjIntConsumer<String> listener) {
+    broker.addPollListener(listener);
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String requestId) {
+    return received(topic, broker.getMessages(url, topic, requestId));
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String key, String requestId) {
+    return received(topic, broker.getMessages(url, topic, key, requestId));
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String requestId, Instant since) {
+    return received(topic, broker.getMessages(url, topic, requestId, since));
+  }
+
+  @Override
+  public List<String> getMessages(String url, String topic, String key, String requestId, Instant since) {
+    return received(topic, broker.getMessages(url, topic, key, requestId, since));
+  }
+
+  @Override
+  public Stream<ConsumerRecord<String, String>> streamMessages(String url, String topic, Instant since, Duration timeout) {
+    return broker.streamMessages(url, topic, since, timeout).peek(this::received);
+  }
+
+  @Override
+  public Stream<ConsumerRecord<String, String>> drainMessages(String url, String topic, Instant since, Duration timeout) {
+    return broker.drainMessages(url, topic, since, timeout).peek(this::received);
+  }
+
+  private List<String> received(String topic, List<String> messages) {
+    messages.forEach(message -> metrics.recordReceived(topic, size(message)));
+    return messages;
+  }
+
+  private void received(ConsumerRecord<String, String> record) {
+    metrics.recordReceived(record.topic(), Math.max(0, record.serializedValueSize()));
+  }
+
+  private static long size(String message) {
+    return message == null ? 0 : message.getBytes(StandardCharsets.UTF_8).length;
+  }
+}
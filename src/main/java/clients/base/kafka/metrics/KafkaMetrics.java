@@ -0,0 +1,200 @@
+package clients.base.kafka.metrics;
+
+import io.qameta.allure.Allure;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * Per-topic counters and latency histograms of a broker client, combined with
+ * selected metrics of the Kafka clients themselves, published periodically to a sink
+ */
+@Slf4j
+public class KafkaMetrics implements AutoCloseable {
+
+  private static final double[] QUANTILES = {50, 99, 99.9, 100};
+  private static final Set<String> CLIENT_METRICS = Set.of(
+    "record-send-rate", "record-error-rate", "request-latency-avg", "batch-size-avg",
+    "compression-rate-avg", "buffer-available-bytes", "records-lag", "records-lag-max",
+    "fetch-latency-avg", "records-per-request-avg");
+
+  private final Map<String, TopicStats> topics = new ConcurrentHashMap<>();
+  private final MetricsSink sink;
+  private final Supplier<Map<MetricName, ? extends Metric>> clientMetrics;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Metrics published to the sink configured by KAFKA_METRICS_SINK every KAFKA_METRICS_INTERVAL_SEC seconds
+   *
+   * @param clientMetrics source of Kafka client metrics
+   */
+  public KafkaMetrics(Supplier<Map<MetricName, ? extends Metric>> clientMetrics) {
+    this(sinkFromProps(), clientMetrics, getProps().kafkaMetricsIntervalSec());
+  }
+
+  /**
+   * @param sink destination of the snapshots
+   * @param clientMetrics source of Kafka client metrics
+   * @param intervalSec publishing period, 0 to publish only on demand
+   */
+  public KafkaMetrics(MetricsSink sink, Supplier<Map<MetricName, ? extends Metric>> clientMetrics, long intervalSec) {
+    this.sink = sink;
+    this.clientMetrics = clientMetrics;
+    if (intervalSec > 0) {
+      this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.scheduler.scheduleAtFixedRate(this::publish, intervalSec, intervalSec, TimeUnit.SECONDS);
+    } else {
+      this.scheduler = null;
+    }
+  }
+
+  public void recordSent(String topic, long bytes, long ackLatencyNanos) {
+    TopicStats stats = stats(topic);
+    stats.messagesSent.increment();
+    stats.bytesSent.add(bytes);
+    stats.ackLatency.record(TimeUnit.NANOSECONDS.toMicros(ackLatencyNanos));
+  }
+
+  public void recordSendError(String topic) {
+    stats(topic).sendErrors.increment();
+  }
+
+  public void recordReceived(String topic, long bytes) {
+    TopicStats stats = stats(topic);
+    stats.messagesReceived.increment();
+    stats.bytesReceived.add(bytes);
+  }
+
+  /**
+   * @param size record count of a single consumer poll
+   */
+  public void recordReceivedBatch(String topic, int size) {
+    stats(topic).receiveBatchSize.record(size);
+  }
+
+  /**
+   * @return current values of all metrics
+   */
+  public List<MetricSample> snapshot() {
+    List<MetricSample> samples = new ArrayList<>();
+    topics.forEach((topic, stats) -> {
+      Map<String, String> labels = Map.of("topic", topic);
+      samples.add(new MetricSample("kafka_messages_sent_total", MetricSample.Type.COUNTER, labels, stats.messagesSent.sum()));
+      samples.add(new MetricSample("kafka_bytes_sent_total", MetricSample.Type.COUNTER, labels, stats.bytesSent.sum()));
+      samples.add(new MetricSample("kafka_send_errors_total", MetricSample.Type.COUNTER, labels, stats.sendErrors.sum()));
+      samples.add(new MetricSample(
+        "kafka_messages_received_total", MetricSample.Type.COUNTER, labels, stats.messagesReceived.sum()));
+      samples.add(new MetricSample("kafka_bytes_received_total", MetricSample.Type.COUNTER, labels, stats.bytesReceived.sum()));
+      summary(samples, "kafka_ack_latency_microseconds", topic, stats.ackLatency);
+      summary(samples, "kafka_receive_batch_size", topic, stats.receiveBatchSize);
+    });
+    clientMetrics.get().forEach((name, metric) -> {
+      if (CLIENT_METRICS.contains(name.name()) && metric.metricValue() instanceof Number value
+        && Double.isFinite(value.doubleValue())) {
+        Map<String, String> labels = new HashMap<>();
+        name.tags().forEach((tag, tagValue) -> labels.put(PrometheusMetricsSink.sanitize(tag), tagValue));
+        samples.add(new MetricSample("kafka_client_" + PrometheusMetricsSink.sanitize(name.name()), MetricSample.Type.GAUGE,
+          labels, value.doubleValue()));
+      }
+    });
+    return samples;
+  }
+
+  /**
+   * Publish the current snapshot to the sink
+   */
+  public void publish() {
+    try {
+      sink.publish(System.currentTimeMillis(), snapshot());
+    } catch (Exception e) {
+      log.error("Error publishing Kafka metrics: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Attach the current snapshot to the Allure report of the running test
+   */
+  public void attachToAllure() {
+    Allure.addAttachment("Kafka metrics", "text/plain", sink.format(snapshot()));
+  }
+
+  @Override
+  public void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+    publish();
+  }
+
+  private TopicStats stats(String topic) {
+    return topics.computeIfAbsent(topic, key -> new TopicStats());
+  }
+
+  /**
+   * Add the quantiles, sum and count of a summary
+   */
+  private static void summary(List<MetricSample> samples, String name, String topic, Summary summary) {
+    long count = summary.histogram.getTotalCount();
+    if (count == 0) {
+      return;
+    }
+    for (double quantile : QUANTILES) {
+      samples.add(new MetricSample(name, MetricSample.Type.SUMMARY,
+        Map.of("topic", topic, "quantile", String.valueOf(quantile / 100)), summary.histogram.getValueAtPercentile(quantile)));
+    }
+    samples.add(new MetricSample(name + "_sum", MetricSample.Type.SUMMARY, Map.of("topic", topic), summary.sum.sum()));
+    samples.add(new MetricSample(name + "_count", MetricSample.Type.SUMMARY, Map.of("topic", topic), count));
+  }
+
+  private static MetricsSink sinkFromProps() {
+    return switch (getProps().kafkaMetricsSink().toLowerCase()) {
+      case "csv" -> new CsvMetricsSink(Path.of(getProps().kafkaMetricsPath() + ".csv"));
+      case "prometheus" -> new PrometheusMetricsSink(Path.of(getProps().kafkaMetricsPath() + ".prom"));
+      default -> new LogMetricsSink();
+    };
+  }
+
+  private static final class TopicStats {
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder sendErrors = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final Summary ackLatency = new Summary();
+    private final Summary receiveBatchSize = new Summary();
+  }
+
+  /**
+   * Histogram for the quantiles with the exact sum of the recorded values
+   */
+  private static final class Summary {
+    private final Histogram histogram = new ConcurrentHistogram(3);
+    private final LongAdder sum = new LongAdder();
+
+    private void record(long value) {
+      histogram.recordValue(value);
+      sum.add(value);
+    }
+  }
+}
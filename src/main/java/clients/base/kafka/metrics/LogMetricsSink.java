@@ -0,0 +1,25 @@
+package clients.base.kafka.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes every snapshot as one log line
+ */
+@Slf4j
+public class LogMetricsSink implements MetricsSink {
+
+  @Override
+  public void publish(long timestamp, List<MetricSample> samples) {
+    log.info("Kafka metrics: {}", format(samples));
+  }
+
+  @Override
+  public String format(List<MetricSample> samples) {
+    return samples.stream()
+      .map(sample -> sample.name() + sample.labels() + "=" + sample.value())
+      .collect(Collectors.joining(", "));
+  }
+}
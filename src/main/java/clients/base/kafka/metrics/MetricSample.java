@@ -0,0 +1,33 @@
+package clients.base.kafka.metrics;
+
+import java.util.Map;
+
+/**
+ * Single metric value with its labels
+ *
+ * @param name metric name in Prometheus naming style, with the _sum or _count suffix for those samples of a summary
+ * @param type kind of the metric the sample belongs to
+ * @param labels labels such as topic or partition
+ * @param value metric value
+ */
+public record MetricSample(String name, Type type, Map<String, String> labels, double value) {
+
+  public enum Type {
+    COUNTER, GAUGE, SUMMARY
+  }
+
+  /**
+   * @return name of the metric family, without the _sum or _count suffix of a summary
+   */
+  public String family() {
+    if (type == Type.SUMMARY) {
+      if (name.endsWith("_sum")) {
+        return name.substring(0, name.length() - "_sum".length());
+      }
+      if (name.endsWith("_count")) {
+        return name.substring(0, name.length() - "_count".length());
+      }
+    }
+    return name;
+  }
+}
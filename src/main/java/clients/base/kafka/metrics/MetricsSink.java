@@ -0,0 +1,20 @@
+package clients.base.kafka.metrics;
+
+import java.util.List;
+
+/**
+ * Destination for periodic metric snapshots
+ */
+public interface MetricsSink {
+
+  /**
+   * @param timestamp snapshot time in epoch milliseconds
+   * @param samples snapshot
+   */
+  void publish(long timestamp, List<MetricSample> samples);
+
+  /**
+   * Render a snapshot as text, used for report attachments
+   */
+  String format(List<MetricSample> samples);
+}
@@ -0,0 +1,78 @@
+package clients.base.kafka.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Overwrites a file with the latest snapshot in the Prometheus text exposition format,
+ * suitable for the node_exporter textfile collector
+ */
+@Slf4j
+public class PrometheusMetricsSink implements MetricsSink {
+
+  private final Path path;
+
+  /**
+   * @param path file holding the latest snapshot
+   */
+  public PrometheusMetricsSink(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public synchronized void publish(long timestamp, List<MetricSample> samples) {
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      Files.writeString(path, format(samples), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      log.error("Error writing Kafka metrics to {}: {}", path, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Samples are grouped by metric family, each family preceded by its TYPE line
+   */
+  @Override
+  public String format(List<MetricSample> samples) {
+    Map<String, List<MetricSample>> families = samples.stream()
+      .collect(Collectors.groupingBy(sample -> sanitize(sample.family()), LinkedHashMap::new, Collectors.toList()));
+    StringBuilder text = new StringBuilder();
+    families.forEach((family, members) -> {
+      text.append("# TYPE ").append(family).append(' ')
+        .append(members.get(0).type().name().toLowerCase(Locale.ROOT)).append('\n');
+      members.forEach(sample -> text.append(sanitize(sample.name()))
+        .append(sample.labels().entrySet().stream()
+          .map(label -> sanitize(label.getKey()) + "=\"" + escape(label.getValue()) + "\"")
+          .collect(Collectors.joining(",", "{", "}")))
+        .append(' ').append(sample.value()).append('\n'));
+    });
+    return text.toString();
+  }
+
+  /**
+   * @return name with every character outside [a-zA-Z0-9_] replaced by an underscore,
+   * prefixed with an underscore if it starts with a digit
+   */
+  static String sanitize(String name) {
+    String sanitized = name.replaceAll("[^a-zA-Z0-9_]", "_");
+    return sanitized.isEmpty() || Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+  }
+
+  /**
+   * @return label value with backslashes, quotes and line feeds escaped
+   */
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
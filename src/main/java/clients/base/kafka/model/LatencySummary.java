@@ -0,0 +1,23 @@
+package clients.base.kafka.model;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Percentiles of a latency distribution in microseconds
+ */
+public record LatencySummary(long count, long p50, long p99, long p999, long max) {
+
+  public static LatencySummary of(Histogram histogram) {
+    return new LatencySummary(
+      histogram.getTotalCount(),
+      histogram.getValueAtPercentile(50),
+      histogram.getValueAtPercentile(99),
+      histogram.getValueAtPercentile(99.9),
+      histogram.getMaxValue());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d p50=%dus p99=%dus p99.9=%dus max=%dus", count, p50, p99, p999, max);
+  }
+}
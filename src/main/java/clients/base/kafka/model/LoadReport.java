@@ -0,0 +1,20 @@
+package clients.base.kafka.model;
+
+/**
+ * Result of an open-loop load run
+ *
+ * @param sent records handed to the producer
+ * @param failed records the broker did not acknowledge
+ * @param received records read back from the output topic
+ * @param throughput acknowledged records per second
+ * @param ackLatency latency from the scheduled send time to the acknowledgement
+ * @param endToEndLatency latency from the scheduled send time to the consumption of the output record
+ */
+public record LoadReport(
+  long sent,
+  long failed,
+  long received,
+  double throughput,
+  LatencySummary ackLatency,
+  LatencySummary endToEndLatency) {
+}
@@ -0,0 +1,19 @@
+package clients.base.kafka.model;
+
+import org.apache.kafka.common.header.Header;
+
+import java.util.List;
+
+/**
+ * Record to be sent as part of a batch
+ *
+ * @param key message key, may be null
+ * @param headers message headers
+ * @param message message value
+ */
+public record ProducerRecordSpec(String key, List<Header> headers, String message) {
+
+  public ProducerRecordSpec(String key, String message) {
+    this(key, List.of(), message);
+  }
+}
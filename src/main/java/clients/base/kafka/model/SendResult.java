@@ -0,0 +1,26 @@
+package clients.base.kafka.model;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a single record of a batch
+ *
+ * @param partition partition the record was written to, -1 if it failed
+ * @param offset offset of the record in the partition, -1 if it failed
+ * @param latency time from send to acknowledgement or failure
+ * @param error cause of the failure, null if the record was acknowledged
+ */
+public record SendResult(int partition, long offset, Duration latency, Throwable error) {
+
+  public static SendResult acknowledged(int partition, long offset, Duration latency) {
+    return new SendResult(partition, offset, latency, null);
+  }
+
+  public static SendResult failed(Throwable error, Duration latency) {
+    return new SendResult(-1, -1, latency, error);
+  }
+
+  public boolean isFailed() {
+    return error != null;
+  }
+}
@@ -0,0 +1,116 @@
+package clients.base.opensearch.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * Bounded in-process cache of documents keyed by index and ID.
+ * Least recently used entries are evicted once maxEntries is reached, and entries expire after the TTL.
+ * Documents that were not found are never cached, so a document indexed by someone else shows up on the next read.
+ */
+public class DocumentCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Cache configured from OPENSEARCH_CACHE_* properties
+     */
+    public DocumentCache() {
+        this(getProps().openSearchCacheEnabled(), getProps().openSearchCacheMaxEntries(), getProps().openSearchCacheTtlMs());
+    }
+
+    /**
+     * @param enabled false to make every call a no-op
+     * @param maxEntries Maximum number of cached documents
+     * @param ttlMs Time in milliseconds a document stays cached
+     */
+    public DocumentCache(boolean enabled, int maxEntries, long ttlMs) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > DocumentCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return cached document, or null if it is not cached or has expired
+     */
+    public String get(String index, String id) {
+        if (!enabled) {
+            return null;
+        }
+        Key key = new Key(index, id);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.document();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String index, String id, String document) {
+        if (!enabled || document == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(new Key(index, id), new Entry(document, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void invalidate(String index, String id) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(new Key(index, id));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private record Key(String index, String id) {
+    }
+
+    private record Entry(String document, long expiresAt) {
+    }
+}
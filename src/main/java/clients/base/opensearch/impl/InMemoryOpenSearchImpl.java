@@ -0,0 +1,672 @@
+package clients.base.opensearch.impl;
+
+import clients.base.opensearch.interfaces.IOpenSearch;
+import clients.base.opensearch.model.Bucket;
+import clients.base.opensearch.model.BulkIndexResult;
+import clients.base.opensearch.model.DateInterval;
+import clients.base.opensearch.model.FieldStats;
+import clients.base.opensearch.model.RefreshPolicy;
+import clients.base.opensearch.model.SearchOptions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process stand-in for an OpenSearch cluster.
+ * Every (url, index) pair keeps its documents in insertion order and an inverted index over
+ * top-level fields: exact values for term queries and lower-cased tokens for match queries.
+ * Supports match_all, term, terms, match and bool queries in the JSON accepted by searchDocuments.
+ * Aggregations are computed from the exact-value postings, without reading the documents.
+ * Writes are visible immediately, so every refresh policy behaves like IMMEDIATE.
+ * Hits are returned in indexing order, there is no scoring.
+ */
+@Slf4j
+public class InMemoryOpenSearchImpl implements IOpenSearch {
+
+    private static final int DEFAULT_SIZE = 10;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MINIMUM_SHOULD_MATCH = Pattern.compile("(-?\\d+)(%?)");
+    private static final int COMPACT_MIN_DOCUMENTS = 1024;
+    private static final DateTimeFormatter KEY_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final Map<String, Index> indices = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean indexDocument(String url, String index, String id, String document, RefreshPolicy refreshPolicy) {
+        try {
+            index(url, index).put(id, document);
+            return true;
+        } catch (JsonParseException | IllegalArgumentException e) {
+            log.error("Error indexing document: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public BulkIndexResult indexDocuments(String url, String index, Stream<Map.Entry<String, String>> documents) {
+        Index target = index(url, index);
+        Map<String, String> failures = new HashMap<>();
+        long indexed = 0;
+        long generated = 0;
+        try (documents) {
+            for (Map.Entry<String, String> document : (Iterable<Map.Entry<String, String>>) documents::iterator) {
+                try {
+                    target.put(document.getKey(), document.getValue());
+                    indexed++;
+                } catch (JsonParseException | IllegalArgumentException e) {
+                    String id = document.getKey() != null
+                            ? document.getKey() : BulkIndexResult.GENERATED_ID_PREFIX + ++generated;
+                    failures.put(id, e.getMessage());
+                }
+            }
+        }
+        return new BulkIndexResult(indexed, Map.copyOf(failures));
+    }
+
+    @Override
+    public List<String> searchDocuments(String url, String index, String query, SearchOptions options) {
+        Index source = indices.get(key(url, index));
+        if (source == null) {
+            return new ArrayList<>();
+        }
+        List<String> results = new ArrayList<>();
+        for (String document : source.search(query, size(options))) {
+            results.add(filter(document, options));
+        }
+        return results;
+    }
+
+    @Override
+    public List<ByteBuffer> searchDocumentsRaw(String url, String index, String query, SearchOptions options) {
+        List<ByteBuffer> results = new ArrayList<>();
+        for (String document : searchDocuments(url, index, query, options)) {
+            results.add(ByteBuffer.wrap(document.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer());
+        }
+        return results;
+    }
+
+    @Override
+    public long count(String url, String index, String query) {
+        Index source = indices.get(key(url, index));
+        return source == null ? 0 : source.count(query);
+    }
+
+    @Override
+    public List<Bucket> termsAggregation(String url, String index, String query, String field, int size) {
+        Index source = indices.get(key(url, index));
+        if (source == null) {
+            return new ArrayList<>();
+        }
+        List<Bucket> buckets = new ArrayList<>();
+        source.valueCounts(query, field).forEach((value, count) -> buckets.add(new Bucket(value, count)));
+        buckets.sort(Comparator.comparingLong(Bucket::docCount).reversed().thenComparing(Bucket::key));
+        return new ArrayList<>(buckets.subList(0, Math.min(size, buckets.size())));
+    }
+
+    @Override
+    public List<Bucket> dateHistogram(String url, String index, String query, String field, String interval) {
+        Index source = indices.get(key(url, index));
+        if (source == null) {
+            return new ArrayList<>();
+        }
+        DateInterval buckets = DateInterval.parse(interval);
+        Map<Long, Long> counts = new TreeMap<>();
+        source.valueCounts(query, field).forEach((value, count) -> {
+            Long millis = epochMillis(value);
+            if (millis != null) {
+                counts.merge(buckets.bucketStart(millis), count, Long::sum);
+            }
+        });
+        List<Bucket> result = new ArrayList<>();
+        counts.forEach((start, count) -> result.add(new Bucket(KEY_FORMAT.format(Instant.ofEpochMilli(start)), count)));
+        return result;
+    }
+
+    @Override
+    public FieldStats stats(String url, String index, String query, String field) {
+        Index source = indices.get(key(url, index));
+        if (source == null) {
+            return FieldStats.EMPTY;
+        }
+        long count = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        for (Map.Entry<String, Long> value : source.valueCounts(query, field).entrySet()) {
+            double number;
+            try {
+                number = Double.parseDouble(value.getKey());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            count += value.getValue();
+            min = Math.min(min, number);
+            max = Math.max(max, number);
+            sum += number * value.getValue();
+        }
+        return count == 0 ? FieldStats.EMPTY : new FieldStats(count, min, max, sum / count);
+    }
+
+    @Override
+    public Stream<String> streamDocuments(String url, String index, String query, int pageSize, int slices) {
+        Index source = indices.get(key(url, index));
+        if (source == null) {
+            return Stream.empty();
+        }
+        return source.search(query, Integer.MAX_VALUE).stream();
+    }
+
+    @Override
+    public String getDocument(String url, String index, String id) {
+        Index source = indices.get(key(url, index));
+        return source == null ? null : source.get(id);
+    }
+
+    @Override
+    public Map<String, String> getDocuments(String url, String index, Collection<String> ids) {
+        Map<String, String> documents = new LinkedHashMap<>();
+        for (String id : ids) {
+            documents.put(id, getDocument(url, index, id));
+        }
+        return documents;
+    }
+
+    @Override
+    public boolean exists(String url, String index, String id) {
+        return getDocument(url, index, id) != null;
+    }
+
+    @Override
+    public boolean deleteDocument(String url, String index, String id, RefreshPolicy refreshPolicy) {
+        Index source = indices.get(key(url, index));
+        return source != null && source.delete(id);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> indexDocumentAsync(String url, String index, String id, String document,
+                                                         RefreshPolicy refreshPolicy) {
+        return CompletableFuture.completedFuture(indexDocument(url, index, id, document, refreshPolicy));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> searchDocumentsAsync(String url, String index, String query,
+                                                                SearchOptions options) {
+        try {
+            return CompletableFuture.completedFuture(searchDocuments(url, index, query, options));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> getDocumentAsync(String url, String index, String id) {
+        return CompletableFuture.completedFuture(getDocument(url, index, id));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteDocumentAsync(String url, String index, String id, RefreshPolicy refreshPolicy) {
+        return CompletableFuture.completedFuture(deleteDocument(url, index, id, refreshPolicy));
+    }
+
+    private Index index(String url, String index) {
+        return indices.computeIfAbsent(key(url, index), key -> new Index());
+    }
+
+    private static String key(String url, String index) {
+        return url + "|" + index;
+    }
+
+    private static int size(SearchOptions options) {
+        return options.size() > 0 ? options.size() : DEFAULT_SIZE;
+    }
+
+    /**
+     * Apply top-level includes and excludes to a document
+     */
+    private static String filter(String document, SearchOptions options) {
+        if (options.includes().isEmpty() && options.excludes().isEmpty()) {
+            return document;
+        }
+        JsonObject source = JsonParser.parseString(document).getAsJsonObject();
+        JsonObject filtered = new JsonObject();
+        for (Map.Entry<String, JsonElement> field : source.entrySet()) {
+            if ((options.includes().isEmpty() || options.includes().contains(field.getKey()))
+                    && !options.excludes().contains(field.getKey())) {
+                filtered.add(field.getKey(), field.getValue());
+            }
+        }
+        return filtered.toString();
+    }
+
+    /**
+     * Date value as epoch milliseconds: a number, an ISO instant, or an ISO date or date-time in UTC
+     *
+     * @return epoch milliseconds, or null for a malformed value, which is skipped like with ignore_malformed
+     */
+    private static Long epochMillis(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ignored) {
+            // not epoch millis
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            // not an instant
+        }
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            // not a local date-time
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Number of should clauses that must match for a minimum_should_match of an integer or a percentage,
+     * negative values giving the number of clauses allowed to miss. Percentages are rounded down.
+     */
+    private static int minimumShouldMatch(JsonElement value, int clauses) {
+        Matcher matcher = MINIMUM_SHOULD_MATCH.matcher(value.getAsString().trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported minimum_should_match: " + value);
+        }
+        int amount = Integer.parseInt(matcher.group(1));
+        int count = matcher.group(2).isEmpty() ? Math.abs(amount) : clauses * Math.abs(amount) / 100;
+        return Math.max(0, Math.min(clauses, amount < 0 ? clauses - count : count));
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Top-level primitive values of a field, one per array element for arrays
+     */
+    private static List<String> values(JsonElement value) {
+        List<String> values = new ArrayList<>();
+        if (value.isJsonPrimitive()) {
+            values.add(value.getAsString());
+        } else if (value.isJsonArray()) {
+            for (JsonElement element : value.getAsJsonArray()) {
+                if (element.isJsonPrimitive()) {
+                    values.add(element.getAsString());
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Documents of one index. Each version of a document gets a new number;
+     * replaced and deleted numbers are cleared from the live set and their sources released.
+     * Postings are not rewritten in place: once at least half of the numbers are dead,
+     * the live documents are renumbered in order and the postings rebuilt.
+     */
+    private static final class Index {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Integer> numbers = new HashMap<>();
+        private final List<String> sources = new ArrayList<>();
+        private final BitSet live = new BitSet();
+        private final Map<String, Map<String, Postings>> exact = new HashMap<>();
+        private final Map<String, Map<String, Postings>> analyzed = new HashMap<>();
+        private int dead;
+
+        /**
+         * Index or replace a document, generating an ID when none is given as OpenSearch does
+         */
+        void put(String id, String document) {
+            JsonElement parsed = JsonParser.parseString(document);
+            if (!parsed.isJsonObject()) {
+                throw new IllegalArgumentException("Document " + id + " is not a JSON object");
+            }
+            String key = id != null ? id : UUID.randomUUID().toString();
+            lock.writeLock().lock();
+            try {
+                Integer previous = numbers.get(key);
+                if (previous != null) {
+                    release(previous);
+                }
+                add(key, document, parsed.getAsJsonObject());
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        String get(String id) {
+            lock.readLock().lock();
+            try {
+                Integer number = numbers.get(id);
+                return number == null ? null : sources.get(number);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean delete(String id) {
+            lock.writeLock().lock();
+            try {
+                Integer number = numbers.remove(id);
+                if (number == null) {
+                    return false;
+                }
+                release(number);
+                compactIfSparse();
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Index a new version of a document, the caller holds the write lock
+         */
+        private void add(String id, String document, JsonObject parsed) {
+            int number = sources.size();
+            sources.add(document);
+            numbers.put(id, number);
+            live.set(number);
+            for (Map.Entry<String, JsonElement> field : parsed.entrySet()) {
+                for (String value : values(field.getValue())) {
+                    postings(exact, field.getKey(), value).add(number);
+                    for (String token : tokens(value)) {
+                        postings(analyzed, field.getKey(), token).add(number);
+                    }
+                }
+            }
+        }
+
+        private void release(int number) {
+            live.clear(number);
+            sources.set(number, null);
+            dead++;
+        }
+
+        /**
+         * Renumber the live documents and rebuild the postings once half of the numbers are dead
+         */
+        private void compactIfSparse() {
+            if (sources.size() < COMPACT_MIN_DOCUMENTS || dead * 2 < sources.size()) {
+                return;
+            }
+            List<Map.Entry<String, Integer>> documents = new ArrayList<>(numbers.entrySet());
+            documents.sort(Map.Entry.comparingByValue());
+            List<String> previous = new ArrayList<>(sources);
+            numbers.clear();
+            sources.clear();
+            live.clear();
+            exact.clear();
+            analyzed.clear();
+            dead = 0;
+            for (Map.Entry<String, Integer> document : documents) {
+                String source = previous.get(document.getValue());
+                add(document.getKey(), source, JsonParser.parseString(source).getAsJsonObject());
+            }
+        }
+
+        List<String> search(String query, int size) {
+            lock.readLock().lock();
+            try {
+                BitSet matches = matches(query);
+                List<String> results = new ArrayList<>(Math.min(size, matches.cardinality()));
+                for (int number = matches.nextSetBit(0); number >= 0 && results.size() < size;
+                     number = matches.nextSetBit(number + 1)) {
+                    results.add(sources.get(number));
+                }
+                return results;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long count(String query) {
+            lock.readLock().lock();
+            try {
+                return matches(query).cardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Number of matching documents for every exact value of a field
+         */
+        Map<String, Long> valueCounts(String query, String field) {
+            lock.readLock().lock();
+            try {
+                BitSet matches = matches(query);
+                Map<String, Long> counts = new HashMap<>();
+                exact.getOrDefault(field(field), Map.of()).forEach((value, postings) -> {
+                    long count = postings.countIn(matches);
+                    if (count > 0) {
+                        counts.put(value, count);
+                    }
+                });
+                return counts;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Live documents matching a query, the caller holds the read lock
+         */
+        private BitSet matches(String query) {
+            BitSet matches = query == null || query.isEmpty()
+                    ? (BitSet) live.clone() : evaluate(JsonParser.parseString(query).getAsJsonObject());
+            matches.and(live);
+            return matches;
+        }
+
+        private BitSet evaluate(JsonObject query) {
+            if (query.size() != 1) {
+                throw new IllegalArgumentException("Query must have exactly one clause: " + query);
+            }
+            Map.Entry<String, JsonElement> clause = query.entrySet().iterator().next();
+            JsonObject body = clause.getValue().getAsJsonObject();
+            return switch (clause.getKey()) {
+                case "match_all" -> (BitSet) live.clone();
+                case "term" -> term(body);
+                case "terms" -> terms(body);
+                case "match" -> match(body);
+                case "bool" -> bool(body);
+                default -> throw new IllegalArgumentException("Unsupported query: " + clause.getKey());
+            };
+        }
+
+        private BitSet term(JsonObject body) {
+            Map.Entry<String, JsonElement> field = body.entrySet().iterator().next();
+            JsonElement value = field.getValue().isJsonObject()
+                    ? field.getValue().getAsJsonObject().get("value") : field.getValue();
+            return termMatches(field(field.getKey()), value.getAsString());
+        }
+
+        private BitSet terms(JsonObject body) {
+            Map.Entry<String, JsonElement> field = body.entrySet().iterator().next();
+            BitSet matches = new BitSet();
+            for (JsonElement value : field.getValue().getAsJsonArray()) {
+                matches.or(termMatches(field(field.getKey()), value.getAsString()));
+            }
+            return matches;
+        }
+
+        /**
+         * Exact value of the field or, as for a term query on a text field, one of its tokens
+         */
+        private BitSet termMatches(String field, String value) {
+            BitSet matches = new BitSet();
+            lookup(exact, field, value).addTo(matches);
+            lookup(analyzed, field, value).addTo(matches);
+            return matches;
+        }
+
+        private BitSet match(JsonObject body) {
+            Map.Entry<String, JsonElement> field = body.entrySet().iterator().next();
+            boolean and = false;
+            String text;
+            if (field.getValue().isJsonObject()) {
+                JsonObject options = field.getValue().getAsJsonObject();
+                text = options.get("query").getAsString();
+                and = options.has("operator") && "and".equalsIgnoreCase(options.get("operator").getAsString());
+            } else {
+                text = field.getValue().getAsString();
+            }
+
+            BitSet matches = null;
+            for (String token : tokens(text)) {
+                BitSet tokenMatches = new BitSet();
+                lookup(analyzed, field(field.getKey()), token).addTo(tokenMatches);
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else if (and) {
+                    matches.and(tokenMatches);
+                } else {
+                    matches.or(tokenMatches);
+                }
+            }
+            return matches == null ? new BitSet() : matches;
+        }
+
+        private BitSet bool(JsonObject body) {
+            BitSet matches = (BitSet) live.clone();
+            for (String occur : List.of("must", "filter")) {
+                for (JsonObject clause : clauses(body, occur)) {
+                    matches.and(evaluate(clause));
+                }
+            }
+            for (JsonObject clause : clauses(body, "must_not")) {
+                matches.andNot(evaluate(clause));
+            }
+
+            List<JsonObject> should = clauses(body, "should");
+            int minimumShouldMatch = body.has("minimum_should_match")
+                    ? minimumShouldMatch(body.get("minimum_should_match"), should.size())
+                    : (body.has("must") || body.has("filter") ? 0 : 1);
+            if (!should.isEmpty() && minimumShouldMatch > 0) {
+                int[] counts = new int[sources.size()];
+                for (JsonObject clause : should) {
+                    BitSet clauseMatches = evaluate(clause);
+                    for (int number = clauseMatches.nextSetBit(0); number >= 0; number = clauseMatches.nextSetBit(number + 1)) {
+                        counts[number]++;
+                    }
+                }
+                for (int number = matches.nextSetBit(0); number >= 0; number = matches.nextSetBit(number + 1)) {
+                    if (counts[number] < minimumShouldMatch) {
+                        matches.clear(number);
+                    }
+                }
+            }
+            return matches;
+        }
+
+        private static List<JsonObject> clauses(JsonObject body, String occur) {
+            List<JsonObject> clauses = new ArrayList<>();
+            JsonElement element = body.get(occur);
+            if (element == null) {
+                return clauses;
+            }
+            if (element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                array.forEach(clause -> clauses.add(clause.getAsJsonObject()));
+            } else {
+                clauses.add(element.getAsJsonObject());
+            }
+            return clauses;
+        }
+
+        /**
+         * Field name without the keyword sub-field suffix, both are indexed the same way here
+         */
+        private static String field(String name) {
+            return name.endsWith(".keyword") ? name.substring(0, name.length() - ".keyword".length()) : name;
+        }
+
+        private static Postings postings(Map<String, Map<String, Postings>> terms, String field, String term) {
+            return terms.computeIfAbsent(field, key -> new HashMap<>()).computeIfAbsent(term, key -> new Postings());
+        }
+
+        private static Postings lookup(Map<String, Map<String, Postings>> terms, String field, String term) {
+            return terms.getOrDefault(field, Map.of()).getOrDefault(term, Postings.EMPTY);
+        }
+    }
+
+    /**
+     * Growable array of ascending document numbers
+     */
+    private static final class Postings {
+
+        static final Postings EMPTY = new Postings();
+
+        private int[] numbers = new int[2];
+        private int size;
+
+        void add(int number) {
+            if (size > 0 && numbers[size - 1] == number) {
+                return;
+            }
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            numbers[size++] = number;
+        }
+
+        void addTo(BitSet matches) {
+            for (int i = 0; i < size; i++) {
+                matches.set(numbers[i]);
+            }
+        }
+
+        long countIn(BitSet matches) {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                if (matches.get(numbers[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
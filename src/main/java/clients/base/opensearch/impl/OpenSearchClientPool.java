@@ -0,0 +1,76 @@
+package clients.base.opensearch.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.opensearch.client.RestClient;
+import org.opensearch.client.RestHighLevelClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static config.PropsConfig.getProps;
+
+/**
+ * JVM-wide registry of OpenSearch clients keyed by url and user.
+ * Each client owns an HTTP connection pool and I/O reactor threads, so they are created
+ * once and reused by every call until the JVM exits.
+ */
+@Slf4j
+final class OpenSearchClientPool {
+
+    private static final int MAX_CONN_PER_ROUTE = getProps().openSearchMaxConnPerRoute();
+    private static final int MAX_CONN_TOTAL = getProps().openSearchMaxConnTotal();
+    private static final long KEEP_ALIVE_MS = getProps().openSearchKeepAliveMs();
+    private static final Map<String, RestHighLevelClient> CLIENTS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(OpenSearchClientPool::closeAll, "opensearch-client-pool-shutdown"));
+    }
+
+    private OpenSearchClientPool() {
+    }
+
+    static RestHighLevelClient get(String url, String username, String password) {
+        return CLIENTS.computeIfAbsent(url + "|" + username, key -> create(url, username, password));
+    }
+
+    static void closeAll() {
+        CLIENTS.forEach((key, client) -> {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.error("Error closing OpenSearch client: {}", e.getMessage(), e);
+            }
+        });
+        CLIENTS.clear();
+    }
+
+    private static RestHighLevelClient create(String url, String username, String password) {
+        try {
+            log.info("Creating OpenSearch client for {}", url);
+            URI uri = URI.create(url);
+
+            CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+            credentialsProvider.setCredentials(AuthScope.ANY,
+                    new UsernamePasswordCredentials(username, password));
+
+            return new RestHighLevelClient(
+                    RestClient.builder(new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme()))
+                            .setHttpClientConfigCallback(httpClientBuilder -> httpClientBuilder
+                                    .setDefaultCredentialsProvider(credentialsProvider)
+                                    .setMaxConnPerRoute(MAX_CONN_PER_ROUTE)
+                                    .setMaxConnTotal(MAX_CONN_TOTAL)
+                                    .setKeepAliveStrategy((response, context) -> KEEP_ALIVE_MS))
+            );
+        } catch (Exception e) {
+            log.error("Error creating OpenSearch client: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to create OpenSearch client", e);
+        }
+    }
+}
@@ -2,47 +2,113 @@ package clients.base.opensearch.impl;
 
 import clients.base.opensearch.interfaces.IOpenSearch;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.http.HttpHost;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.client.CredentialsProvider;
-import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.util.EntityUtils;
+import org.apache.lucene.util.BytesRef;
+import clients.base.opensearch.model.Bucket;
+import clients.base.opensearch.model.BulkIndexResult;
+import clients.base.opensearch.model.DateInterval;
+import clients.base.opensearch.model.FieldStats;
+import clients.base.opensearch.model.RefreshPolicy;
+import clients.base.opensearch.model.SearchOptions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkProcessor;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.CreatePitResponse;
+import org.opensearch.action.search.DeletePitRequest;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Request;
 import org.opensearch.client.RequestOptions;
-import org.opensearch.client.RestClient;
+import org.opensearch.client.Response;
+import org.opensearch.client.ResponseException;
+import org.opensearch.client.ResponseListener;
 import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.core.CountRequest;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Stats;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.slice.SliceBuilder;
 
 import java.io.IOException;
-import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static config.PropsConfig.getProps;
 
 @Slf4j
 public class OpenSearchImpl implements IOpenSearch {
 
+    private static final Semaphore ASYNC_PERMITS = new Semaphore(getProps().openSearchAsyncMaxInFlight());
+    private static final BlockingQueue<Runnable> ASYNC_QUEUE =
+            new LinkedBlockingQueue<>(getProps().openSearchAsyncQueueCapacity());
+    private static final ExecutorService ASYNC_DISPATCHER = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("opensearch-async-dispatch").daemon().factory());
+    private static final AtomicBoolean ASYNC_DISPATCH_SCHEDULED = new AtomicBoolean();
+
     private final String OPENSEARCH_USERNAME = getProps().openSearchUsername();
     private final String OPENSEARCH_PASSWORD = getProps().openSearchPassword();
 
     @Override
-    public boolean indexDocument(String url, String index, String id, String document) {
-        try (RestHighLevelClient client = createClient(url)) {
+    public boolean indexDocument(String url, String index, String id, String document, RefreshPolicy refreshPolicy) {
+        try {
+            RestHighLevelClient client = client(url);
             IndexRequest request = new IndexRequest(index)
                     .id(id)
-                    .source(document, XContentType.JSON);
+                    .source(document, XContentType.JSON)
+                    .setRefreshPolicy(WriteRequest.RefreshPolicy.parse(refreshPolicy.value()));
             
             IndexResponse response = client.index(request, RequestOptions.DEFAULT);
             return response.getResult() == DocWriteResponse.Result.CREATED || 
@@ -54,37 +120,219 @@ public class OpenSearchImpl implements IOpenSearch {
     }
 
     @Override
-    public List<String> searchDocuments(String url, String index, String query) {
+    public BulkIndexResult indexDocuments(String url, String index, Stream<Map.Entry<String, String>> documents) {
+        RestHighLevelClient client = client(url);
+        AtomicLong indexed = new AtomicLong();
+        Map<String, String> failures = new ConcurrentHashMap<>();
+        AtomicLong generated = new AtomicLong();
+        BiConsumer<String, String> fail = (id, reason) -> failures.put(
+                id != null ? id : BulkIndexResult.GENERATED_ID_PREFIX + generated.incrementAndGet(), reason);
+
+        BulkProcessor.Listener listener = new BulkProcessor.Listener() {
+            @Override
+            public void beforeBulk(long executionId, BulkRequest request) {
+                log.debug("Executing bulk {} with {} documents", executionId, request.numberOfActions());
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+                for (BulkItemResponse item : response.getItems()) {
+                    if (item.isFailed()) {
+                        fail.accept(item.getId(), item.getFailureMessage());
+                    } else {
+                        indexed.incrementAndGet();
+                    }
+                }
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+                log.error("Error executing bulk {}: {}", executionId, failure.getMessage(), failure);
+                request.requests().forEach(action -> fail.accept(action.id(), failure.getMessage()));
+            }
+        };
+
+        BulkProcessor processor = BulkProcessor.builder(
+                        (request, bulkListener) -> client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener), listener)
+                .setBulkActions(getProps().openSearchBulkActions())
+                .setBulkSize(new ByteSizeValue(getProps().openSearchBulkSizeMb(), ByteSizeUnit.MB))
+                .setFlushInterval(TimeValue.timeValueMillis(getProps().openSearchBulkFlushIntervalMs()))
+                .setConcurrentRequests(getProps().openSearchBulkConcurrentRequests())
+                .setBackoffPolicy(BackoffPolicy.exponentialBackoff(
+                        TimeValue.timeValueMillis(getProps().openSearchBulkBackoffMs()), getProps().openSearchBulkRetries()))
+                .build();
+        try (documents) {
+            documents.forEach(document -> processor.add(new IndexRequest(index)
+                    .id(document.getKey())
+                    .source(document.getValue(), XContentType.JSON)));
+        } finally {
+            try {
+                if (!processor.awaitClose(getProps().testConfigTimeOut(), TimeUnit.MILLISECONDS)) {
+                    log.error("Bulk indexing into {} did not finish in time", index);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new BulkIndexResult(indexed.get(), Map.copyOf(failures));
+    }
+
+    @Override
+    public List<String> searchDocuments(String url, String index, String query, SearchOptions options) {
         List<String> results = new ArrayList<>();
-        
-        try (RestHighLevelClient client = createClient(url)) {
+        for (SearchHit hit : search(url, index, query, options)) {
+            results.add(hit.getSourceAsString());
+        }
+        return results;
+    }
+
+    @Override
+    public List<ByteBuffer> searchDocumentsRaw(String url, String index, String query, SearchOptions options) {
+        List<ByteBuffer> results = new ArrayList<>();
+        for (SearchHit hit : search(url, index, query, options)) {
+            if (hit.getSourceRef() == null) {
+                results.add(ByteBuffer.allocate(0));
+                continue;
+            }
+            BytesRef source = hit.getSourceRef().toBytesRef();
+            results.add(ByteBuffer.wrap(source.bytes, source.offset, source.length).slice().asReadOnlyBuffer());
+        }
+        return results;
+    }
+
+    @Override
+    public long count(String url, String index, String query) {
+        try {
+            return client(url).count(new CountRequest(index).query(query(query)), RequestOptions.DEFAULT).getCount();
+        } catch (IOException e) {
+            log.error("Error counting documents: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to count documents in index " + index, e);
+        }
+    }
+
+    @Override
+    public List<Bucket> termsAggregation(String url, String index, String query, String field, int size) {
+        Terms terms = aggregate(url, index, query, AggregationBuilders.terms("terms").field(field).size(size)).get("terms");
+        List<Bucket> buckets = new ArrayList<>();
+        for (Terms.Bucket bucket : terms.getBuckets()) {
+            buckets.add(new Bucket(bucket.getKeyAsString(), bucket.getDocCount()));
+        }
+        return buckets;
+    }
+
+    @Override
+    public List<Bucket> dateHistogram(String url, String index, String query, String field, String interval) {
+        DateHistogramAggregationBuilder aggregation = AggregationBuilders.dateHistogram("histogram")
+                .field(field)
+                .minDocCount(1);
+        if (DateInterval.parse(interval).isCalendar()) {
+            aggregation.calendarInterval(new DateHistogramInterval(interval));
+        } else {
+            aggregation.fixedInterval(new DateHistogramInterval(interval));
+        }
+        Histogram histogram = aggregate(url, index, query, aggregation).get("histogram");
+        List<Bucket> buckets = new ArrayList<>();
+        for (Histogram.Bucket bucket : histogram.getBuckets()) {
+            buckets.add(new Bucket(bucket.getKeyAsString(), bucket.getDocCount()));
+        }
+        return buckets;
+    }
+
+    @Override
+    public FieldStats stats(String url, String index, String query, String field) {
+        Stats stats = aggregate(url, index, query, AggregationBuilders.stats("stats").field(field)).get("stats");
+        if (stats.getCount() == 0) {
+            return FieldStats.EMPTY;
+        }
+        return new FieldStats(stats.getCount(), stats.getMin(), stats.getMax(), stats.getAvg());
+    }
+
+    /**
+     * Run a single aggregation with size=0, so no hits are returned
+     */
+    private Aggregations aggregate(String url, String index, String query, AggregationBuilder aggregation) {
+        try {
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                    .query(query(query))
+                    .size(0)
+                    .trackTotalHits(false)
+                    .aggregation(aggregation);
+            return client(url).search(new SearchRequest(index).source(searchSourceBuilder), RequestOptions.DEFAULT)
+                    .getAggregations();
+        } catch (IOException e) {
+            log.error("Error aggregating documents: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to aggregate documents in index " + index, e);
+        }
+    }
+
+    private SearchHit[] search(String url, String index, String query, SearchOptions options) {
+        try {
+            RestHighLevelClient client = client(url);
             SearchRequest searchRequest = new SearchRequest(index);
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
             
-            if (query != null && !query.isEmpty()) {
-                // If query is a JSON string, we assume it's a raw query
-                searchSourceBuilder.query(QueryBuilders.wrapperQuery(query));
-            } else {
-                // Default to match all if no query provided
-                searchSourceBuilder.query(QueryBuilders.matchAllQuery());
+            searchSourceBuilder.query(query(query));
+            if (!options.includes().isEmpty() || !options.excludes().isEmpty()) {
+                searchSourceBuilder.fetchSource(
+                        options.includes().toArray(String[]::new), options.excludes().toArray(String[]::new));
+            }
+            if (options.size() > 0) {
+                searchSourceBuilder.size(options.size());
             }
             
             searchRequest.source(searchSourceBuilder);
-            SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
-            
-            for (SearchHit hit : searchResponse.getHits().getHits()) {
-                results.add(hit.getSourceAsString());
-            }
+            return client.search(searchRequest, RequestOptions.DEFAULT).getHits().getHits();
         } catch (IOException e) {
             log.error("Error searching documents: {}", e.getMessage(), e);
+            return new SearchHit[0];
         }
-        
-        return results;
+    }
+
+    @Override
+    public Stream<String> streamDocuments(String url, String index, String query, int pageSize, int slices) {
+        RestHighLevelClient client = client(url);
+        TimeValue keepAlive = TimeValue.timeValueMillis(getProps().openSearchPitKeepAliveMs());
+        String pitId;
+        int shards;
+        try {
+            CreatePitResponse pit = client.createPit(new CreatePitRequest(keepAlive, false, index), RequestOptions.DEFAULT);
+            pitId = pit.getId();
+            shards = Math.max(1, pit.getTotalShards());
+        } catch (IOException e) {
+            log.error("Error creating point in time: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to create point in time for index " + index, e);
+        }
+
+        // With at least as many slices as shards every slice stays within one shard,
+        // where _doc is unique and search_after needs no tiebreaker
+        QueryBuilder queryBuilder = query(query);
+        int count = Math.max(slices, shards);
+        List<PitSearchSpliterator> parts = count == 1
+                ? List.of(new PitSearchSpliterator(client, pitId, keepAlive, queryBuilder, pageSize, null))
+                : IntStream.range(0, count)
+                        .mapToObj(slice -> new PitSearchSpliterator(
+                                client, pitId, keepAlive, queryBuilder, pageSize, new SliceBuilder(slice, count)))
+                        .toList();
+        Stream<String> documents;
+        if (slices <= 1) {
+            documents = parts.stream().flatMap(part -> StreamSupport.stream(part, false));
+        } else {
+            SlicedPitSearchSpliterator sliced = new SlicedPitSearchSpliterator(parts, pageSize);
+            documents = StreamSupport.stream(sliced, false).onClose(sliced::close);
+        }
+        return documents.onClose(() -> {
+            try {
+                client.deletePit(new DeletePitRequest(pitId), RequestOptions.DEFAULT);
+            } catch (IOException e) {
+                log.error("Error deleting point in time: {}", e.getMessage(), e);
+            }
+        });
     }
 
     @Override
     public String getDocument(String url, String index, String id) {
-        try (RestHighLevelClient client = createClient(url)) {
+        try {
+            RestHighLevelClient client = client(url);
             GetRequest getRequest = new GetRequest(index, id);
             GetResponse getResponse = client.get(getRequest, RequestOptions.DEFAULT);
             
@@ -99,9 +347,52 @@ public class OpenSearchImpl implements IOpenSearch {
     }
 
     @Override
-    public boolean deleteDocument(String url, String index, String id) {
-        try (RestHighLevelClient client = createClient(url)) {
-            DeleteRequest request = new DeleteRequest(index, id);
+    public Map<String, String> getDocuments(String url, String index, Collection<String> ids) {
+        Map<String, String> documents = new LinkedHashMap<>();
+        List<String> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        int chunkSize = getProps().openSearchMgetChunkSize();
+        RestHighLevelClient client = client(url);
+
+        for (int from = 0; from < uniqueIds.size(); from += chunkSize) {
+            MultiGetRequest request = new MultiGetRequest();
+            uniqueIds.subList(from, Math.min(from + chunkSize, uniqueIds.size())).forEach(id -> request.add(index, id));
+            try {
+                for (MultiGetItemResponse item : client.mget(request, RequestOptions.DEFAULT).getResponses()) {
+                    if (item.isFailed()) {
+                        log.warn("Error getting document {}: {}", item.getId(), item.getFailure().getMessage());
+                        documents.put(item.getId(), null);
+                    } else {
+                        GetResponse response = item.getResponse();
+                        documents.put(item.getId(), response.isExists() ? response.getSourceAsString() : null);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Error getting documents: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to get documents from index " + index, e);
+            }
+        }
+        return documents;
+    }
+
+    @Override
+    public boolean exists(String url, String index, String id) {
+        try {
+            GetRequest request = new GetRequest(index, id)
+                    .realtime(true)
+                    .fetchSourceContext(FetchSourceContext.DO_NOT_FETCH_SOURCE);
+            return client(url).exists(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            log.error("Error checking document: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteDocument(String url, String index, String id, RefreshPolicy refreshPolicy) {
+        try {
+            RestHighLevelClient client = client(url);
+            DeleteRequest request = new DeleteRequest(index, id)
+                    .setRefreshPolicy(WriteRequest.RefreshPolicy.parse(refreshPolicy.value()));
             DeleteResponse response = client.delete(request, RequestOptions.DEFAULT);
             
             return response.getResult() == DocWriteResponse.Result.DELETED;
@@ -111,22 +402,175 @@ public class OpenSearchImpl implements IOpenSearch {
         }
     }
     
-    private RestHighLevelClient createClient(String url) {
+    @Override
+    public CompletableFuture<Boolean> indexDocumentAsync(String url, String index, String id, String document,
+                                                         RefreshPolicy refreshPolicy) {
+        Request request = new Request("PUT", "/" + encode(index) + "/_doc/" + encode(id));
+        request.addParameter("refresh", refreshPolicy.value());
+        request.setJsonEntity(document);
+        return performAsync(url, request).thenApply(body -> {
+            String result = JsonParser.parseString(body).getAsJsonObject().get("result").getAsString();
+            return "created".equals(result) || "updated".equals(result);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> searchDocumentsAsync(String url, String index, String query,
+                                                                SearchOptions options) {
+        JsonObject search = new JsonObject();
         try {
-            URI uri = URI.create(url);
-            
-            CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-            credentialsProvider.setCredentials(AuthScope.ANY,
-                    new UsernamePasswordCredentials(OPENSEARCH_USERNAME, OPENSEARCH_PASSWORD));
-            
-            return new RestHighLevelClient(
-                    RestClient.builder(new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme()))
-                            .setHttpClientConfigCallback(httpClientBuilder -> 
-                                    httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider))
-            );
-        } catch (Exception e) {
-            log.error("Error creating OpenSearch client: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create OpenSearch client", e);
+            search.add("query", JsonParser.parseString(query != null && !query.isEmpty() ? query : "{\"match_all\":{}}"));
+        } catch (JsonParseException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!options.includes().isEmpty() || !options.excludes().isEmpty()) {
+            JsonObject source = new JsonObject();
+            source.add("includes", toJsonArray(options.includes()));
+            source.add("excludes", toJsonArray(options.excludes()));
+            search.add("_source", source);
+        }
+        if (options.size() > 0) {
+            search.addProperty("size", options.size());
+        }
+        Request request = new Request("POST", "/" + encode(index) + "/_search");
+        request.setJsonEntity(search.toString());
+        return performAsync(url, request).thenApply(body -> {
+            List<String> results = new ArrayList<>();
+            JsonParser.parseString(body).getAsJsonObject()
+                    .getAsJsonObject("hits").getAsJsonArray("hits")
+                    .forEach(hit -> results.add(hit.getAsJsonObject().get("_source").toString()));
+            return results;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> getDocumentAsync(String url, String index, String id) {
+        Request request = new Request("GET", "/" + encode(index) + "/_source/" + encode(id));
+        return performAsync(url, request).exceptionally(e -> {
+            if (isNotFound(e)) {
+                return null;
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteDocumentAsync(String url, String index, String id, RefreshPolicy refreshPolicy) {
+        Request request = new Request("DELETE", "/" + encode(index) + "/_doc/" + encode(id));
+        request.addParameter("refresh", refreshPolicy.value());
+        return performAsync(url, request)
+                .thenApply(body -> "deleted".equals(JsonParser.parseString(body).getAsJsonObject().get("result").getAsString()))
+                .exceptionally(e -> {
+                    if (isNotFound(e)) {
+                        return false;
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                });
+    }
+
+    /**
+     * Send a request through the low-level client without blocking.
+     * At most OPENSEARCH_ASYNC_MAX_IN_FLIGHT requests run at once; further requests are queued,
+     * up to OPENSEARCH_ASYNC_QUEUE_CAPACITY, and sent from a dedicated dispatcher thread as running
+     * ones complete, so neither the calling thread nor the I/O reactor threads wait or build clients.
+     *
+     * @return future completed with the response body, or failed with RejectedExecutionException when the queue is full
+     */
+    private CompletableFuture<String> performAsync(String url, Request request) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        if (!ASYNC_QUEUE.offer(() -> send(url, request, result))) {
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Async request queue is full with " + ASYNC_QUEUE.size() + " requests waiting"));
+            return result;
+        }
+        scheduleDispatch();
+        return result;
+    }
+
+    private void send(String url, Request request, CompletableFuture<String> result) {
+        try {
+            client(url).getLowLevelClient().performRequestAsync(request, new ResponseListener() {
+                @Override
+                public void onSuccess(Response response) {
+                    releaseAsyncPermit();
+                    try {
+                        result.complete(EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8));
+                    } catch (IOException | RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    releaseAsyncPermit();
+                    result.completeExceptionally(exception);
+                }
+            });
+        } catch (RuntimeException e) {
+            releaseAsyncPermit();
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Run dispatchAsync on the dispatcher thread unless a run is already pending
+     */
+    private static void scheduleDispatch() {
+        if (ASYNC_DISPATCH_SCHEDULED.compareAndSet(false, true)) {
+            ASYNC_DISPATCHER.execute(() -> {
+                ASYNC_DISPATCH_SCHEDULED.set(false);
+                dispatchAsync();
+            });
         }
     }
+
+    /**
+     * Start queued requests while permits are free
+     */
+    private static void dispatchAsync() {
+        while (!ASYNC_QUEUE.isEmpty() && ASYNC_PERMITS.tryAcquire()) {
+            Runnable next = ASYNC_QUEUE.poll();
+            if (next == null) {
+                ASYNC_PERMITS.release();
+            } else {
+                next.run();
+            }
+        }
+    }
+
+    private static void releaseAsyncPermit() {
+        ASYNC_PERMITS.release();
+        if (!ASYNC_QUEUE.isEmpty()) {
+            scheduleDispatch();
+        }
+    }
+
+    private static JsonArray toJsonArray(List<String> values) {
+        JsonArray array = new JsonArray();
+        values.forEach(array::add);
+        return array;
+    }
+
+    private static boolean isNotFound(Throwable e) {
+        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+        return cause instanceof ResponseException response && response.getResponse().getStatusLine().getStatusCode() == 404;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Raw JSON query wrapped for the search source, match all if no query provided
+     */
+    private static QueryBuilder query(String query) {
+        if (query != null && !query.isEmpty()) {
+            return QueryBuilders.wrapperQuery(query);
+        }
+        return QueryBuilders.matchAllQuery();
+    }
+
+    private RestHighLevelClient client(String url) {
+        return OpenSearchClientPool.get(url, OPENSEARCH_USERNAME, OPENSEARCH_PASSWORD);
+    }
 }
\ No newline at end of file
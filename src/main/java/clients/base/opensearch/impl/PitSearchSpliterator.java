@@ -0,0 +1,94 @@
+package clients.base.opensearch.impl;
+
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.slice.SliceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Pages through the hits of a point in time with search_after, fetching the next page
+ * only when the previous one is consumed, so memory stays bounded by the page size.
+ * Hits are sorted by _doc only, which is unique within a shard: the slice must not span shards
+ * unless the index has a single one.
+ */
+final class PitSearchSpliterator extends Spliterators.AbstractSpliterator<String> {
+
+    private final RestHighLevelClient client;
+    private final String pitId;
+    private final TimeValue keepAlive;
+    private final QueryBuilder query;
+    private final int pageSize;
+    private final SliceBuilder slice;
+    private final Deque<String> buffer = new ArrayDeque<>();
+    private Object[] searchAfter;
+    private boolean exhausted;
+
+    /**
+     * @param slice slice of the point in time to read, or null to read all hits
+     */
+    PitSearchSpliterator(RestHighLevelClient client, String pitId, TimeValue keepAlive, QueryBuilder query,
+                         int pageSize, SliceBuilder slice) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.client = client;
+        this.pitId = pitId;
+        this.keepAlive = keepAlive;
+        this.query = query;
+        this.pageSize = pageSize;
+        this.slice = slice;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        if (buffer.isEmpty() && !exhausted) {
+            nextPage();
+        }
+        if (buffer.isEmpty()) {
+            return false;
+        }
+        action.accept(buffer.poll());
+        return true;
+    }
+
+    private void nextPage() {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+                .query(query)
+                .size(pageSize)
+                .trackTotalHits(false)
+                .sort(SortBuilders.fieldSort("_doc"))
+                .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(keepAlive));
+        if (searchAfter != null) {
+            source.searchAfter(searchAfter);
+        }
+        if (slice != null) {
+            source.slice(slice);
+        }
+        try {
+            SearchResponse response = client.search(new SearchRequest().source(source), RequestOptions.DEFAULT);
+            SearchHit[] hits = response.getHits().getHits();
+            for (SearchHit hit : hits) {
+                buffer.add(hit.getSourceAsString());
+            }
+            if (hits.length < pageSize) {
+                exhausted = true;
+            } else {
+                searchAfter = hits[hits.length - 1].getSortValues();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to fetch search page for point in time " + pitId, e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package clients.base.opensearch.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Reads the slices of a point in time concurrently, one virtual thread per slice, and hands the hits
+ * over through a bounded queue, so the caller gets a sequential stream while the pages are fetched in parallel.
+ * Workers start on the first read and block once the caller is a page per slice behind.
+ */
+@Slf4j
+final class SlicedPitSearchSpliterator extends Spliterators.AbstractSpliterator<String> {
+
+    private static final Object END = new Object();
+
+    private final List<PitSearchSpliterator> slices;
+    private final BlockingQueue<Object> queue;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private ExecutorService workers;
+    private int running;
+
+    /**
+     * @param slices spliterators of the slices to read
+     * @param pageSize number of hits per page, the queue holds one page per slice
+     */
+    SlicedPitSearchSpliterator(List<PitSearchSpliterator> slices, int pageSize) {
+        super(Long.MAX_VALUE, Spliterator.NONNULL);
+        this.slices = slices;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, pageSize) * slices.size());
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        if (workers == null) {
+            start();
+        }
+        try {
+            while (running > 0) {
+                Object hit = queue.take();
+                if (hit != END) {
+                    action.accept((String) hit);
+                    return true;
+                }
+                running--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+            throw new RuntimeException("Interrupted while reading point in time slices", e);
+        }
+        workers.shutdown();
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new RuntimeException("Failed to read point in time slices", error);
+        }
+        return false;
+    }
+
+    /**
+     * Stop the workers, called when the stream is closed
+     */
+    void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void start() {
+        workers = Executors.newVirtualThreadPerTaskExecutor();
+        running = slices.size();
+        slices.forEach(slice -> workers.submit(() -> read(slice)));
+    }
+
+    private void read(PitSearchSpliterator slice) {
+        try {
+            Iterator<String> hits = Spliterators.iterator(slice);
+            while (hits.hasNext()) {
+                queue.put(hits.next());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            log.error("Error reading point in time slice: {}", e.getMessage(), e);
+            failure.compareAndSet(null, e);
+        }
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,17 @@
 package clients.base.opensearch.interfaces;
 
+import clients.base.opensearch.model.Bucket;
+import clients.base.opensearch.model.BulkIndexResult;
+import clients.base.opensearch.model.FieldStats;
+import clients.base.opensearch.model.RefreshPolicy;
+import clients.base.opensearch.model.SearchOptions;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Interface for OpenSearch operations
@@ -16,7 +27,33 @@ public interface IOpenSearch {
      * @param document Document as JSON string
      * @return true if successful
      */
-    boolean indexDocument(String url, String index, String id, String document);
+    default boolean indexDocument(String url, String index, String id, String document) {
+        return indexDocument(url, index, id, document, RefreshPolicy.NONE);
+    }
+    
+    /**
+     * Create or update a document in OpenSearch
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @param document Document as JSON string
+     * @param refreshPolicy When the document becomes visible to search
+     * @return true if successful
+     */
+    boolean indexDocument(String url, String index, String id, String document, RefreshPolicy refreshPolicy);
+    
+    /**
+     * Index a stream of documents through the bulk API.
+     * Requests are flushed by action count, byte size or time interval with a bounded number
+     * of concurrent bulk requests; rejected items are retried with exponential backoff.
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param documents Stream of document ID to document as JSON string
+     * @return number of indexed documents and failures by document ID
+     */
+    BulkIndexResult indexDocuments(String url, String index, Stream<Map.Entry<String, String>> documents);
     
     /**
      * Search for documents in OpenSearch
@@ -26,7 +63,93 @@ public interface IOpenSearch {
      * @param query Query as JSON string
      * @return List of documents as JSON strings
      */
-    List<String> searchDocuments(String url, String index, String query);
+    default List<String> searchDocuments(String url, String index, String query) {
+        return searchDocuments(url, index, query, SearchOptions.DEFAULT);
+    }
+    
+    /**
+     * Search for documents in OpenSearch returning only the selected fields of each hit
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param options Source filtering and size
+     * @return List of documents as JSON strings
+     */
+    List<String> searchDocuments(String url, String index, String query, SearchOptions options);
+    
+    /**
+     * Search for documents in OpenSearch returning the _source bytes of each hit without decoding them to strings
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param options Source filtering and size
+     * @return List of read-only buffers with UTF-8 JSON of each document
+     */
+    List<ByteBuffer> searchDocumentsRaw(String url, String index, String query, SearchOptions options);
+    
+    /**
+     * Count documents matching a query without fetching them
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @return number of matching documents
+     */
+    long count(String url, String index, String query);
+    
+    /**
+     * Group matching documents by the values of a field with a terms aggregation, size=0 search
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param field Keyword field to group by
+     * @param size Maximum number of buckets
+     * @return Buckets ordered by document count, largest first
+     */
+    List<Bucket> termsAggregation(String url, String index, String query, String field, int size);
+    
+    /**
+     * Group matching documents into time intervals with a date_histogram aggregation, size=0 search
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param field Date field
+     * @param interval Fixed interval, any amount of ms, s, m, h or d such as 30m or 2d, or calendar interval,
+     *                 one of 1w, 1M, 1q, 1y or minute, hour, day, week, month, quarter, year. Buckets are in UTC
+     * @return Non-empty buckets in time order
+     */
+    List<Bucket> dateHistogram(String url, String index, String query, String field, String interval);
+    
+    /**
+     * Min, max and avg of a numeric field over matching documents with a stats aggregation, size=0 search
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param field Numeric field
+     * @return Field statistics
+     */
+    FieldStats stats(String url, String index, String query, String field);
+    
+    /**
+     * Lazily stream all documents matching a query.
+     * Pages through a point in time with search_after, so memory use does not depend on the number of hits.
+     * The stream must be closed to release the point in time.
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param pageSize Number of hits fetched per request
+     * @param slices Number of slices fetched concurrently, 1 to fetch one page at a time.
+     *               Raised to the number of shards so that every slice reads a single shard.
+     *               The returned stream is sequential either way; the order of hits across slices is not defined
+     * @return Stream of documents as JSON strings
+     */
+    Stream<String> streamDocuments(String url, String index, String query, int pageSize, int slices);
     
     /**
      * Get a document from OpenSearch by ID
@@ -38,6 +161,28 @@ public interface IOpenSearch {
      */
     String getDocument(String url, String index, String id);
     
+    /**
+     * Get many documents from OpenSearch by ID through the multi-get API,
+     * split into requests of at most OPENSEARCH_MGET_CHUNK_SIZE IDs
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param ids Document IDs
+     * @return Documents as JSON strings by ID in the order of the IDs, null for documents that were not found
+     */
+    Map<String, String> getDocuments(String url, String index, Collection<String> ids);
+    
+    /**
+     * Check whether a document exists with a realtime GET that does not fetch the source.
+     * Sees the latest write even before a refresh.
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @return true if the document exists
+     */
+    boolean exists(String url, String index, String id);
+    
     /**
      * Delete a document from OpenSearch
      * 
@@ -46,5 +191,101 @@ public interface IOpenSearch {
      * @param id Document ID
      * @return true if successful
      */
-    boolean deleteDocument(String url, String index, String id);
+    default boolean deleteDocument(String url, String index, String id) {
+        return deleteDocument(url, index, id, RefreshPolicy.NONE);
+    }
+    
+    /**
+     * Delete a document from OpenSearch
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @param refreshPolicy When the deletion becomes visible to search
+     * @return true if successful
+     */
+    boolean deleteDocument(String url, String index, String id, RefreshPolicy refreshPolicy);
+
+    /**
+     * Create or update a document in OpenSearch without blocking the calling thread
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @param document Document as JSON string
+     * @return future completed with true if successful
+     */
+    default CompletableFuture<Boolean> indexDocumentAsync(String url, String index, String id, String document) {
+        return indexDocumentAsync(url, index, id, document, RefreshPolicy.NONE);
+    }
+    
+    /**
+     * Create or update a document in OpenSearch without blocking the calling thread.
+     * The async methods never block for back-pressure: requests beyond OPENSEARCH_ASYNC_MAX_IN_FLIGHT
+     * are queued and sent as earlier ones complete.
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @param document Document as JSON string
+     * @param refreshPolicy When the document becomes visible to search
+     * @return future completed with true if successful
+     */
+    CompletableFuture<Boolean> indexDocumentAsync(String url, String index, String id, String document, RefreshPolicy refreshPolicy);
+    
+    /**
+     * Search for documents in OpenSearch without blocking the calling thread
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @return future completed with the documents as JSON strings
+     */
+    default CompletableFuture<List<String>> searchDocumentsAsync(String url, String index, String query) {
+        return searchDocumentsAsync(url, index, query, SearchOptions.DEFAULT);
+    }
+    
+    /**
+     * Search for documents in OpenSearch returning only the selected fields of each hit without blocking the calling thread
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param query Query as JSON string
+     * @param options Source filtering and size
+     * @return future completed with the documents as JSON strings
+     */
+    CompletableFuture<List<String>> searchDocumentsAsync(String url, String index, String query, SearchOptions options);
+    
+    /**
+     * Get a document from OpenSearch by ID without blocking the calling thread
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @return future completed with the document as JSON string, or null if not found
+     */
+    CompletableFuture<String> getDocumentAsync(String url, String index, String id);
+    
+    /**
+     * Delete a document from OpenSearch without blocking the calling thread
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @return future completed with true if successful
+     */
+    default CompletableFuture<Boolean> deleteDocumentAsync(String url, String index, String id) {
+        return deleteDocumentAsync(url, index, id, RefreshPolicy.NONE);
+    }
+    
+    /**
+     * Delete a document from OpenSearch without blocking the calling thread
+     * 
+     * @param url OpenSearch URL
+     * @param index Index name
+     * @param id Document ID
+     * @param refreshPolicy When the deletion becomes visible to search
+     * @return future completed with true if successful
+     */
+    CompletableFuture<Boolean> deleteDocumentAsync(String url, String index, String id, RefreshPolicy refreshPolicy);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package clients.base.opensearch.model;
+
+/**
+ * Bucket of a terms or date_histogram aggregation
+ *
+ * @param key term, or start of the interval as key_as_string for a date histogram
+ * @param docCount number of documents in the bucket
+ */
+public record Bucket(String key, long docCount) {
+}
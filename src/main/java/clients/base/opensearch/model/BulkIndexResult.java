@@ -0,0 +1,19 @@
+package clients.base.opensearch.model;
+
+import java.util.Map;
+
+/**
+ * Outcome of a bulk indexing run
+ *
+ * @param indexed number of documents indexed successfully
+ * @param failures failure reason by document ID for documents that were not indexed after all retries.
+ *                 Documents given without an ID are keyed by GENERATED_ID_PREFIX and a sequence number
+ */
+public record BulkIndexResult(long indexed, Map<String, String> failures) {
+
+    public static final String GENERATED_ID_PREFIX = "_generated_";
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
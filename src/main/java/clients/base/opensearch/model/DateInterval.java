@@ -0,0 +1,93 @@
+package clients.base.opensearch.model;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.TemporalUnit;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Interval of a date histogram, either fixed or calendar-aware.
+ * Fixed intervals are any amount of ms, s, m, h or d, such as 30m or 2d.
+ * Calendar intervals are a single unit: 1w, 1M, 1q or 1y, or minute, hour, day, week, month, quarter or year.
+ * Buckets are in UTC, so 1d and day give the same buckets; weeks start on Monday.
+ *
+ * @param expression interval as given
+ * @param fixedMillis length of a fixed interval, 0 for a calendar interval
+ * @param calendarUnit unit of a calendar interval, null for a fixed interval
+ */
+public record DateInterval(String expression, long fixedMillis, TemporalUnit calendarUnit) {
+
+    private static final Pattern FIXED = Pattern.compile("(\\d+)(ms|s|m|h|d)");
+    private static final Map<String, TemporalUnit> CALENDAR = Map.ofEntries(
+            Map.entry("minute", ChronoUnit.MINUTES),
+            Map.entry("hour", ChronoUnit.HOURS),
+            Map.entry("day", ChronoUnit.DAYS),
+            Map.entry("1w", ChronoUnit.WEEKS),
+            Map.entry("week", ChronoUnit.WEEKS),
+            Map.entry("1M", ChronoUnit.MONTHS),
+            Map.entry("month", ChronoUnit.MONTHS),
+            Map.entry("1q", IsoFields.QUARTER_YEARS),
+            Map.entry("quarter", IsoFields.QUARTER_YEARS),
+            Map.entry("1y", ChronoUnit.YEARS),
+            Map.entry("year", ChronoUnit.YEARS));
+
+    /**
+     * @throws IllegalArgumentException if the interval is neither a fixed nor a calendar interval
+     */
+    public static DateInterval parse(String interval) {
+        TemporalUnit unit = CALENDAR.get(interval);
+        if (unit != null) {
+            return new DateInterval(interval, 0, unit);
+        }
+        Matcher matcher = FIXED.matcher(interval);
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) == 0) {
+            throw new IllegalArgumentException("Unsupported date histogram interval: " + interval
+                    + ", expected an amount of ms, s, m, h or d, or one of " + CALENDAR.keySet());
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        long millis = switch (matcher.group(2)) {
+            case "ms" -> amount;
+            case "s" -> Duration.ofSeconds(amount).toMillis();
+            case "m" -> Duration.ofMinutes(amount).toMillis();
+            case "h" -> Duration.ofHours(amount).toMillis();
+            default -> Duration.ofDays(amount).toMillis();
+        };
+        return new DateInterval(interval, millis, null);
+    }
+
+    public boolean isCalendar() {
+        return calendarUnit != null;
+    }
+
+    /**
+     * @return start of the bucket holding the given time, in epoch milliseconds
+     */
+    public long bucketStart(long epochMillis) {
+        if (!isCalendar()) {
+            return Math.floorDiv(epochMillis, fixedMillis) * fixedMillis;
+        }
+        ZonedDateTime time = Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC);
+        ZonedDateTime start;
+        if (calendarUnit == ChronoUnit.WEEKS) {
+            start = time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        } else if (calendarUnit == ChronoUnit.MONTHS) {
+            start = time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        } else if (calendarUnit == IsoFields.QUARTER_YEARS) {
+            start = time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1)
+                    .withMonth((time.getMonthValue() - 1) / 3 * 3 + 1);
+        } else if (calendarUnit == ChronoUnit.YEARS) {
+            start = time.truncatedTo(ChronoUnit.DAYS).withDayOfYear(1);
+        } else {
+            start = time.truncatedTo(calendarUnit);
+        }
+        return start.toInstant().toEpochMilli();
+    }
+}
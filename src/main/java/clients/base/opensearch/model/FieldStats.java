@@ -0,0 +1,14 @@
+package clients.base.opensearch.model;
+
+/**
+ * Min, max and avg of a numeric field over the matching documents
+ *
+ * @param count number of values
+ * @param min minimum value, null if there are no values
+ * @param max maximum value, null if there are no values
+ * @param avg average value, null if there are no values
+ */
+public record FieldStats(long count, Double min, Double max, Double avg) {
+
+    public static final FieldStats EMPTY = new FieldStats(0, null, null, null);
+}
@@ -0,0 +1,27 @@
+package clients.base.opensearch.model;
+
+/**
+ * When a write becomes visible to search
+ */
+public enum RefreshPolicy {
+
+    /** Return immediately, the change is searchable after the next periodic refresh */
+    NONE("false"),
+    /** Wait until the next refresh makes the change searchable */
+    WAIT_FOR("wait_for"),
+    /** Force a refresh of the affected shards, expensive under load */
+    IMMEDIATE("true");
+
+    private final String value;
+
+    RefreshPolicy(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return value of the refresh request parameter
+     */
+    public String value() {
+        return value;
+    }
+}
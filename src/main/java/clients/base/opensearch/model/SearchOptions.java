@@ -0,0 +1,35 @@
+package clients.base.opensearch.model;
+
+import java.util.List;
+
+/**
+ * Source filtering and size of a search
+ *
+ * @param includes fields of _source to return, empty for all fields
+ * @param excludes fields of _source to leave out
+ * @param size maximum number of hits, 0 for the OpenSearch default
+ */
+public record SearchOptions(List<String> includes, List<String> excludes, int size) {
+
+    public static final SearchOptions DEFAULT = new SearchOptions(List.of(), List.of(), 0);
+
+    public SearchOptions {
+        includes = includes == null ? List.of() : List.copyOf(includes);
+        excludes = excludes == null ? List.of() : List.copyOf(excludes);
+    }
+
+    /**
+     * Return only the given fields of _source
+     */
+    public static SearchOptions includes(String... fields) {
+        return new SearchOptions(List.of(fields), List.of(), 0);
+    }
+
+    public SearchOptions withExcludes(String... fields) {
+        return new SearchOptions(includes, List.of(fields), size);
+    }
+
+    public SearchOptions withSize(int size) {
+        return new SearchOptions(includes, excludes, size);
+    }
+}
@@ -55,18 +55,61 @@ public interface Props extends Config {
   @Key("KAFKA_TRUSTSTORE_PASSWORD")
   String kafkaTruststorePassword();
 
+  @DefaultValue("10000")
   @Key("CONSUMER_POOL_DURATION")
   long consumerPoolDuration();
 
+  @DefaultValue("100")
   @Key("KAFKA_MAX_MESSAGES_COUNT")
   int kafkaMaxMessagesValue();
 
+  @DefaultValue("10000")
   @Key("PRODUCER_RECORDS_TIMEOUT")
   long producerRecordTimeout();
 
+  @DefaultValue("100000")
+  @Key("KAFKA_INDEX_CAPACITY")
+  int kafkaIndexCapacity();
+
+  @DefaultValue("60000")
+  @Key("KAFKA_INDEX_LOOKBACK_MS")
+  long kafkaIndexLookbackMs();
+
+  @DefaultValue("10000")
+  @Key("KAFKA_DRAIN_BUFFER_SIZE")
+  int kafkaDrainBufferSize();
+
+  @DefaultValue("12")
+  @Key("KAFKA_IN_MEMORY_PARTITIONS")
+  int kafkaInMemoryPartitions();
+
+  @DefaultValue("log")
+  @Key("KAFKA_METRICS_SINK")
+  String kafkaMetricsSink();
+
+  @DefaultValue("target/kafka-metrics")
+  @Key("KAFKA_METRICS_PATH")
+  String kafkaMetricsPath();
+
+  @DefaultValue("10")
+  @Key("KAFKA_METRICS_INTERVAL_SEC")
+  long kafkaMetricsIntervalSec();
+
   @Key("KAFKA_CLUSTER")
   String kafkaCluster();
 
+  @DefaultValue("5")
+  @Key("KAFKA_PRODUCER_LINGER_MS")
+  int kafkaProducerLingerMs();
+
+  @DefaultValue("65536")
+  @Key("KAFKA_PRODUCER_BATCH_SIZE")
+  int kafkaProducerBatchSize();
+
+  @DefaultValue("lz4")
+  @Key("KAFKA_PRODUCER_COMPRESSION_TYPE")
+  String kafkaProducerCompressionType();
+
 
   /** DATABASE */
   @Key("DB_URL")
@@ -78,6 +121,50 @@ public interface Props extends Config {
   @Key("DB_PASSWORD")
   String dbPassword();
 
+  @DefaultValue("10")
+  @Key("DB_POOL_MAX_SIZE")
+  int dbPoolMaxSize();
+
+  @DefaultValue("0")
+  @Key("DB_POOL_MIN_IDLE")
+  int dbPoolMinIdle();
+
+  @DefaultValue("60000")
+  @Key("DB_POOL_IDLE_TIMEOUT_MS")
+  long dbPoolIdleTimeoutMs();
+
+  @DefaultValue("30000")
+  @Key("DB_POOL_CONNECTION_TIMEOUT_MS")
+  long dbPoolConnectionTimeoutMs();
+
+  @DefaultValue("5000")
+  @Key("DB_POOL_VALIDATION_TIMEOUT_MS")
+  long dbPoolValidationTimeoutMs();
+
+  @DefaultValue("1800000")
+  @Key("DB_POOL_MAX_LIFETIME_MS")
+  long dbPoolMaxLifetimeMs();
+
+  @DefaultValue("true")
+  @Key("DB_REWRITE_BATCHED_INSERTS")
+  boolean dbRewriteBatchedInserts();
+
+  @DefaultValue("1000")
+  @Key("DB_BATCH_SIZE")
+  int dbBatchSize();
+
+  @DefaultValue("1")
+  @Key("DB_PREPARE_THRESHOLD")
+  int dbPrepareThreshold();
+
+  @DefaultValue("256")
+  @Key("DB_PREPARED_STATEMENT_CACHE_QUERIES")
+  int dbPreparedStatementCacheQueries();
+
+  @DefaultValue("5")
+  @Key("DB_PREPARED_STATEMENT_CACHE_SIZE_MIB")
+  int dbPreparedStatementCacheSizeMib();
+
 
   /** API */
   @Key("API_KEYSTORE")
@@ -103,6 +190,78 @@ public interface Props extends Config {
   @Key("OPENSEARCH_PASSWORD")
   String openSearchPassword();
 
+  @DefaultValue("50")
+  @Key("OPENSEARCH_MAX_CONN_PER_ROUTE")
+  int openSearchMaxConnPerRoute();
+
+  @DefaultValue("200")
+  @Key("OPENSEARCH_MAX_CONN_TOTAL")
+  int openSearchMaxConnTotal();
+
+  @DefaultValue("60000")
+  @Key("OPENSEARCH_KEEP_ALIVE_MS")
+  long openSearchKeepAliveMs();
+
+  @DefaultValue("1000")
+  @Key("OPENSEARCH_BULK_ACTIONS")
+  int openSearchBulkActions();
+
+  @DefaultValue("5")
+  @Key("OPENSEARCH_BULK_SIZE_MB")
+  long openSearchBulkSizeMb();
+
+  @DefaultValue("1000")
+  @Key("OPENSEARCH_BULK_FLUSH_INTERVAL_MS")
+  long openSearchBulkFlushIntervalMs();
+
+  @DefaultValue("2")
+  @Key("OPENSEARCH_BULK_CONCURRENT_REQUESTS")
+  int openSearchBulkConcurrentRequests();
+
+  @DefaultValue("100")
+  @Key("OPENSEARCH_BULK_BACKOFF_MS")
+  long openSearchBulkBackoffMs();
+
+  @DefaultValue("5")
+  @Key("OPENSEARCH_BULK_RETRIES")
+  int openSearchBulkRetries();
+
+  @DefaultValue("1000")
+  @Key("OPENSEARCH_SEARCH_PAGE_SIZE")
+  int openSearchSearchPageSize();
+
+  @DefaultValue("60000")
+  @Key("OPENSEARCH_PIT_KEEP_ALIVE_MS")
+  long openSearchPitKeepAliveMs();
+
+  @DefaultValue("256")
+  @Key("OPENSEARCH_ASYNC_MAX_IN_FLIGHT")
+  int openSearchAsyncMaxInFlight();
+
+  @DefaultValue("10000")
+  @Key("OPENSEARCH_ASYNC_QUEUE_CAPACITY")
+  int openSearchAsyncQueueCapacity();
+
+  @DefaultValue("1000")
+  @Key("OPENSEARCH_MGET_CHUNK_SIZE")
+  int openSearchMgetChunkSize();
+
+  @DefaultValue("false")
+  @Key("OPENSEARCH_CACHE_ENABLED")
+  boolean openSearchCacheEnabled();
+
+  @DefaultValue("10000")
+  @Key("OPENSEARCH_CACHE_MAX_ENTRIES")
+  int openSearchCacheMaxEntries();
+
+  @DefaultValue("60000")
+  @Key("OPENSEARCH_CACHE_TTL_MS")
+  long openSearchCacheTtlMs();
+
+  @DefaultValue("WAIT_FOR")
+  @Key("OPENSEARCH_REFRESH_POLICY")
+  String openSearchRefreshPolicy();
+
 
   /** ZIPKIN */
   @DefaultValue("true")
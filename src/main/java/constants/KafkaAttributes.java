@@ -0,0 +1,7 @@
+package constants;
+
+public class KafkaAttributes {
+  public static final String REQUEST_ID = "requestId";
+  public static final String SEND_TIMESTAMP = "sendTimestamp";
+  public static final String LOAD_RUN_ID = "loadRunId";
+}
@@ -1,5 +1,14 @@
 package constants;
 
+import clients.base.db.model.NamedQuery;
+
 public class SqlQuery {
+  /**
+   * @deprecated every id produces a new SQL text and is open to injection, use {@link #SELECT_EXAMPLE_BY_ID}
+   */
+  @Deprecated
   public static String QUERY_EXAMPLE = "select * from schema.\"Table\" where \"Id\" = '%s'";
+
+  public static final NamedQuery SELECT_EXAMPLE_BY_ID =
+    new NamedQuery("selectExampleById", "select * from schema.\"Table\" where \"Id\" = ?");
 }
\ No newline at end of file
@@ -77,17 +77,45 @@ public class ZipkinTracer {
             return;
         }
 
+        endSpan(spanId, currentTraceId.get(), currentTags.get());
+    }
+
+    /**
+     * End the span with the given ID from any thread, e.g. when an asynchronous call completes.
+     * @param spanId The span ID
+     * @param traceId The trace ID captured with {@link #currentTraceId()} on the starting thread
+     * @param tags The tags captured with {@link #currentTags()} on the starting thread
+     */
+    public static void endSpan(@NotNull String spanId, String traceId, @NotNull Map<String, String> tags) {
+        if (!isEnabled()) {
+            return;
+        }
+
         Long startTime = activeSpans.remove(spanId);
         if (startTime != null) {
             long duration = System.currentTimeMillis() - startTime;
-            String traceId = currentTraceId.get();
-            Map<String, String> tags = new HashMap<>(currentTags.get());
 
             log.info("Zipkin: Ended span {} for trace {} with duration {}ms and tags {}", 
-                    spanId, traceId, duration, tags);
+                    spanId, traceId, duration, new HashMap<>(tags));
         }
     }
 
+    /**
+     * Get the trace ID of the current thread.
+     * @return The trace ID, or null if no trace is active
+     */
+    public static String currentTraceId() {
+        return currentTraceId.get();
+    }
+
+    /**
+     * Get a copy of the tags of the current thread.
+     * @return The tags
+     */
+    public static Map<String, String> currentTags() {
+        return new HashMap<>(currentTags.get());
+    }
+
     /**
      * Add a tag to the current span.
      * @param key The tag key
@@ -0,0 +1,35 @@
+package assertion;
+
+import io.qameta.allure.Step;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertion class for database tests
+ * Contains methods with @Step annotations for database test assertions
+ */
+public class DatabaseAssertions {
+
+    /**
+     * Assert that a row was mapped to the expected entity
+     *
+     * @param actual Mapped entity
+     * @param expected Expected entity
+     */
+    @Step("Assert row was mapped to {expected}")
+    public void assertRowMapped(Object actual, Object expected) {
+        assertEquals(expected, actual, "Mapped row does not match the expected entity");
+    }
+
+    /**
+     * Assert the value a field of a mapped entity received
+     *
+     * @param actual Value of the field
+     * @param expected Expected value
+     * @param field Name of the field
+     */
+    @Step("Assert field {field} was mapped to {expected}")
+    public void assertFieldMapped(Object actual, Object expected, String field) {
+        assertEquals(expected, actual, "Unexpected value of field " + field);
+    }
+}
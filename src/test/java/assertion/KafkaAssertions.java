@@ -1,10 +1,20 @@
 package assertion;
 
+import clients.base.kafka.metrics.MetricSample;
+import clients.base.kafka.metrics.PrometheusMetricsSink;
+import clients.base.kafka.model.LoadReport;
+import clients.base.kafka.model.SendResult;
 import io.qameta.allure.Step;
+import org.junit.jupiter.api.function.Executable;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -65,4 +75,147 @@ public class KafkaAssertions {
         assertTrue(messages.stream().anyMatch(msg -> msg.contains(contentToMatch)), 
                 "Message containing '" + contentToMatch + "' not found in topic: " + topic);
     }
-}
\ No newline at end of file
+
+    /**
+     * Assert that every record of a batch was acknowledged
+     * 
+     * @param results Acknowledgements of the batch
+     * @param expectedCount Number of records sent
+     * @param topic Kafka topic
+     */
+    @Step("Assert {expectedCount} records were acknowledged by topic {topic}")
+    public void assertBatchAcknowledged(List<SendResult> results, int expectedCount, String topic) {
+        assertEquals(expectedCount, results.size(), "Not all records were acknowledged by topic: " + topic);
+        assertTrue(results.stream().noneMatch(SendResult::isFailed),
+                "Some records failed in topic: " + topic);
+        assertTrue(results.stream().allMatch(result -> result.offset() >= 0), 
+                "Some records have no offset in topic: " + topic);
+    }
+
+    /**
+     * Assert that messages are being received from Kafka topic.
+     * Returns as soon as the first message arrives.
+     * 
+     * @param messages Stream of received messages, closed by this method
+     * @param topic Kafka topic
+     */
+    @Step("Assert messages were received from topic {topic}")
+    public void assertMessagesReceived(Stream<String> messages, String topic) {
+        try (messages) {
+            assertTrue(messages.findAny().isPresent(), "No messages received from topic: " + topic);
+        }
+    }
+
+    /**
+     * Assert that a message with a specific key is received.
+     * Returns as soon as the matching message arrives.
+     * 
+     * @param messages Stream of received messages, closed by this method
+     * @param key Message key
+     * @param topic Kafka topic
+     */
+    @Step("Assert message with key {key} was received from topic {topic}")
+    public void assertMessageWithKeyReceived(Stream<String> messages, String key, String topic) {
+        try (messages) {
+            assertTrue(messages.filter(Objects::nonNull).anyMatch(msg -> msg.contains(key)), 
+                    "Message with key " + key + " not found in topic: " + topic);
+        }
+    }
+
+    /**
+     * Assert that a message with a specific payload is received.
+     * Returns as soon as the matching message arrives.
+     * 
+     * @param messages Stream of received messages, closed by this method
+     * @param payload Expected message payload
+     * @param topic Kafka topic
+     */
+    @Step("Assert message with payload was received from topic {topic}")
+    public void assertMessageWithPayloadReceived(Stream<String> messages, String payload, String topic) {
+        try (messages) {
+            assertTrue(messages.anyMatch(payload::equals), 
+                    "Message with expected payload not found in topic: " + topic);
+        }
+    }
+
+    /**
+     * Assert that a message with specific content is received.
+     * Returns as soon as the matching message arrives.
+     * 
+     * @param messages Stream of received messages, closed by this method
+     * @param contentToMatch Content that should be in the message
+     * @param topic Kafka topic
+     */
+    @Step("Assert message containing {contentToMatch} was received from topic {topic}")
+    public void assertMessageContains(Stream<String> messages, String contentToMatch, String topic) {
+        try (messages) {
+            assertTrue(messages.filter(Objects::nonNull).anyMatch(msg -> msg.contains(contentToMatch)), 
+                    "Message containing '" + contentToMatch + "' not found in topic: " + topic);
+        }
+    }
+
+    /**
+     * Assert the number of received messages
+     * 
+     * @param messages Stream of received messages, closed by this method
+     * @param expectedCount Expected number of messages
+     * @param topic Kafka topic
+     */
+    @Step("Assert {expectedCount} messages were received from topic {topic}")
+    public void assertMessagesCount(Stream<String> messages, long expectedCount, String topic) {
+        try (messages) {
+            assertEquals(expectedCount, messages.count(), "Unexpected number of messages in topic: " + topic);
+        }
+    }
+
+    /**
+     * Assert that a load run sent the expected number of records and measured every one of them
+     * 
+     * @param report Report of the load run
+     * @param expectedCount Number of records the run should have sent
+     */
+    @Step("Assert load run sent and received {expectedCount} records")
+    public void assertLoadReport(LoadReport report, long expectedCount) {
+        assertEquals(expectedCount, report.sent(), "Unexpected number of sent records");
+        assertEquals(0, report.failed(), "Some records were not acknowledged");
+        assertEquals(expectedCount, report.received(), "Not all records were received");
+        assertEquals(expectedCount, report.ackLatency().count(), "Not every acknowledgement latency was recorded");
+        assertEquals(expectedCount, report.endToEndLatency().count(), "Not every end-to-end latency was recorded");
+        assertTrue(report.endToEndLatency().p50() <= report.endToEndLatency().p99()
+                && report.endToEndLatency().p99() <= report.endToEndLatency().max(),
+            "End-to-end latency percentiles are out of order: " + report.endToEndLatency());
+    }
+
+    /**
+     * Assert that a lookup was rejected as invalid input
+     * 
+     * @param lookup Lookup expected to throw
+     * @param messagePart Text expected in the exception message
+     */
+    @Step("Assert lookup was rejected with a message containing {messagePart}")
+    public void assertLookupRejected(Executable lookup, String messagePart) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, lookup);
+        assertTrue(exception.getMessage().contains(messagePart), "Unexpected message: " + exception.getMessage());
+    }
+
+    /**
+     * Assert that the polls reading a topic were recorded with their real record counts
+     * and are exposed as a Prometheus summary
+     * 
+     * @param samples Metrics snapshot
+     * @param expectedRecords Number of records read from the topic
+     * @param topic Kafka topic
+     */
+    @Step("Assert polls of {expectedRecords} records were recorded for topic {topic}")
+    public void assertPollsRecorded(List<MetricSample> samples, long expectedRecords, String topic) {
+        double polled = samples.stream()
+            .filter(sample -> sample.name().equals("kafka_receive_batch_size_sum") && topic.equals(sample.labels().get("topic")))
+            .mapToDouble(MetricSample::value)
+            .sum();
+        assertEquals(expectedRecords, (long) polled, "Unexpected number of polled records in topic: " + topic);
+        String text = new PrometheusMetricsSink(Path.of("target", "kafka-metrics.prom")).format(samples);
+        assertTrue(text.contains("# TYPE kafka_receive_batch_size summary"), "No summary type line in: " + text);
+        assertTrue(text.contains("kafka_receive_batch_size_count{topic=\"" + topic + "\"}"),
+            "No summary count for topic " + topic + " in: " + text);
+    }
+}
@@ -1,8 +1,14 @@
 package assertion;
 
+import clients.base.opensearch.model.Bucket;
+import clients.base.opensearch.model.BulkIndexResult;
+import clients.base.opensearch.model.FieldStats;
 import io.qameta.allure.Step;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,4 +90,126 @@ public class OpenSearchAssertions {
         assertEquals(expectedDocument, retrievedDocument, 
                 "Retrieved document does not match the indexed document for ID: " + documentId);
     }
+
+    /**
+     * Assert that every document of a bulk run was indexed
+     * 
+     * @param result Result of bulk indexing
+     * @param expectedCount Number of documents sent
+     */
+    @Step("Assert {expectedCount} documents were bulk indexed")
+    public void assertBulkIndexed(BulkIndexResult result, long expectedCount) {
+        assertFalse(result.hasFailures(), "Bulk indexing failed for documents: " + result.failures());
+        assertEquals(expectedCount, result.indexed(), "Not all documents were bulk indexed");
+    }
+
+    /**
+     * Assert that a bulk run indexed some documents and reported failures for the others
+     * 
+     * @param result Result of bulk indexing
+     * @param expectedCount Number of documents expected to be indexed
+     * @param expectedFailures IDs expected in the failures
+     */
+    @Step("Assert {expectedCount} documents were bulk indexed and {expectedFailures} failed")
+    public void assertBulkIndexedWithFailures(BulkIndexResult result, long expectedCount, List<String> expectedFailures) {
+        assertEquals(expectedCount, result.indexed(), "Unexpected number of bulk indexed documents");
+        assertEquals(Set.copyOf(expectedFailures), result.failures().keySet(), "Unexpected bulk indexing failures");
+    }
+
+    /**
+     * Assert that all documents were retrieved
+     * 
+     * @param documents Retrieved documents by ID
+     * @param documentIds IDs of the documents
+     */
+    @Step("Assert {documentIds.size} documents were retrieved successfully")
+    public void assertDocumentsRetrieved(Map<String, String> documents, List<String> documentIds) {
+        for (String documentId : documentIds) {
+            assertDocumentRetrieved(documents.get(documentId), documentId);
+        }
+    }
+
+    /**
+     * Assert how many document reads were served from the cache
+     * 
+     * @param hits Cache hits
+     * @param expectedHits Expected cache hits
+     */
+    @Step("Assert {expectedHits} document reads were served from the cache")
+    public void assertCacheHits(long hits, long expectedHits) {
+        assertEquals(expectedHits, hits, "Unexpected number of cache hits");
+    }
+
+    /**
+     * Assert that search results contain the document and do not contain a field left out by source filtering
+     * 
+     * @param searchResults List of search results
+     * @param documentId ID of the document to find
+     * @param excludedField Field that must not be returned
+     */
+    @Step("Assert search results contain document with ID {documentId} without field {excludedField}")
+    public void assertSearchResultsFiltered(List<String> searchResults, String documentId, String excludedField) {
+        assertSearchResults(searchResults, documentId);
+        assertTrue(searchResults.stream().noneMatch(doc -> doc.contains("\"" + excludedField + "\"")),
+                "Search results contain excluded field: " + excludedField);
+    }
+
+    /**
+     * Assert that document search returned no results
+     * 
+     * @param searchResults List of search results
+     */
+    @Step("Assert search results are empty")
+    public void assertSearchResultsEmpty(List<String> searchResults) {
+        assertTrue(searchResults.isEmpty(), "Search results are not empty: " + searchResults);
+    }
+
+    /**
+     * Assert the number of documents in a stream
+     * 
+     * @param documents Stream of documents
+     * @param expectedCount Expected number of documents
+     */
+    @Step("Assert {expectedCount} documents were streamed")
+    public void assertDocumentsCount(Stream<String> documents, long expectedCount) {
+        assertEquals(expectedCount, documents.count(), "Unexpected number of streamed documents");
+    }
+
+    /**
+     * Assert the number of documents matching a query
+     * 
+     * @param count Counted documents
+     * @param expectedCount Expected number of documents
+     */
+    @Step("Assert {expectedCount} documents match the query")
+    public void assertDocumentsCount(long count, long expectedCount) {
+        assertEquals(expectedCount, count, "Unexpected number of matching documents");
+    }
+
+    /**
+     * Assert aggregation buckets by key and document count, in order
+     * 
+     * @param buckets Aggregation buckets
+     * @param expectedBuckets Expected buckets
+     */
+    @Step("Assert aggregation buckets are {expectedBuckets}")
+    public void assertBuckets(List<Bucket> buckets, List<Bucket> expectedBuckets) {
+        assertEquals(expectedBuckets, buckets, "Unexpected aggregation buckets");
+    }
+
+    /**
+     * Assert min, max and avg of a field
+     * 
+     * @param stats Field statistics
+     * @param expectedMin Expected minimum
+     * @param expectedMax Expected maximum
+     * @param expectedAvg Expected average
+     */
+    @Step("Assert field stats are min {expectedMin}, max {expectedMax}, avg {expectedAvg}")
+    public void assertStats(FieldStats stats, double expectedMin, double expectedMax, double expectedAvg) {
+        assertTrue(stats.count() > 0, "Field has no values");
+        assertEquals(expectedMin, stats.min(), 1e-9, "Unexpected minimum");
+        assertEquals(expectedMax, stats.max(), 1e-9, "Unexpected maximum");
+        assertEquals(expectedAvg, stats.avg(), 1e-9, "Unexpected average");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package benchmarks;
+
+import clients.base.db.impl.RowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link RowMapper} with mapping every row through plain reflection.
+ * The mappers are built and the reflection baselines look up constructors, fields and columns once in setUp,
+ * as a query does once per result set, so both sides measure only the cost of mapping a row. Rows come from a Proxy-based ResultSet stub, so the numbers show the mapping overhead
+ * on top of a constant driver cost, not the cost of a real query.
+ * Run with main from the IDE after test-compile, which generates the JMH harness.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    public record OrderRecord(long id, String customerName, int quantity, double amount, boolean paid) {
+    }
+
+    public static class OrderEntity {
+        private long id;
+        private String customerName;
+        private int quantity;
+        private double amount;
+        private boolean paid;
+    }
+
+    private static final String[] LABELS = {"id", "customer_name", "quantity", "amount", "paid"};
+    private static final Object[] VALUES = {42L, "Test User", 3, 99.5, true};
+
+    private ResultSet resultSet;
+    private ResultSetMetaData metaData;
+    private RowMapper<OrderRecord> recordMapper;
+    private RowMapper<OrderEntity> entityMapper;
+    private Constructor<OrderRecord> recordConstructor;
+    private Class<?>[] recordTypes;
+    private int[] recordColumns;
+    private Constructor<OrderEntity> entityConstructor;
+    private Field[] entityFields;
+    private int[] entityColumns;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException, SQLException {
+        metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> LABELS.length;
+                    case "getColumnLabel" -> LABELS[(int) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> metaData;
+                    case "wasNull" -> false;
+                    case "getInt", "getLong", "getDouble", "getBoolean", "getString", "getObject" ->
+                            VALUES[(int) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        recordMapper = RowMapper.of(OrderRecord.class, metaData);
+        entityMapper = RowMapper.of(OrderEntity.class, metaData);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int column = 1; column <= LABELS.length; column++) {
+            columns.put(LABELS[column - 1].replace("_", "").toLowerCase(), column);
+        }
+
+        RecordComponent[] components = OrderRecord.class.getRecordComponents();
+        recordTypes = new Class<?>[components.length];
+        recordColumns = new int[components.length];
+        for (int i = 0; i < components.length; i++) {
+            recordTypes[i] = components[i].getType();
+            recordColumns[i] = columns.get(components[i].getName().toLowerCase());
+        }
+        recordConstructor = OrderRecord.class.getDeclaredConstructor(recordTypes);
+
+        entityConstructor = OrderEntity.class.getDeclaredConstructor();
+        entityFields = OrderEntity.class.getDeclaredFields();
+        entityColumns = new int[entityFields.length];
+        for (int i = 0; i < entityFields.length; i++) {
+            entityFields[i].setAccessible(true);
+            entityColumns[i] = columns.get(entityFields[i].getName().toLowerCase());
+        }
+    }
+
+    @Benchmark
+    public OrderRecord methodHandleRecord() throws SQLException {
+        return recordMapper.map(resultSet);
+    }
+
+    @Benchmark
+    public OrderEntity methodHandleFields() throws SQLException {
+        return entityMapper.map(resultSet);
+    }
+
+    @Benchmark
+    public OrderRecord reflectionRecord() throws Exception {
+        Object[] values = new Object[recordTypes.length];
+        for (int i = 0; i < recordTypes.length; i++) {
+            values[i] = resultSet.getObject(recordColumns[i], recordTypes[i]);
+        }
+        return recordConstructor.newInstance(values);
+    }
+
+    @Benchmark
+    public OrderEntity reflectionFields() throws Exception {
+        OrderEntity entity = entityConstructor.newInstance();
+        for (int i = 0; i < entityFields.length; i++) {
+            entityFields[i].set(entity, resultSet.getObject(entityColumns[i], entityFields[i].getType()));
+        }
+        return entity;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RowMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -6,7 +6,10 @@ import org.junit.platform.suite.api.SelectClasses;
 @Suite
 @SelectClasses({
     tests.kafka.KafkaTest.class,
+    tests.kafka.InMemoryKafkaTest.class,
     tests.opensearch.OpenSearchTest.class,
+    tests.opensearch.InMemoryOpenSearchTest.class,
+    tests.db.RowMapperTest.class,
     tests.api.ApiTest.class
 })
 public class SuiteRegress {
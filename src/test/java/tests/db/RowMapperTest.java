@@ -0,0 +1,158 @@
+package tests.db;
+
+import assertion.DatabaseAssertions;
+import clients.base.db.impl.RowMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+@Epic("Database Tests")
+@Feature("Row Mapping")
+public class RowMapperTest {
+
+    public record Order(long id, String customerName, int quantity, boolean paid) {
+    }
+
+    public record Grade(char grade, Character code, byte level, Byte rank) {
+    }
+
+    public static class BaseEntity {
+        private long id;
+    }
+
+    public static class OrderEntity extends BaseEntity {
+        private String customerName;
+        private int quantity;
+        private Double amount;
+    }
+
+    private DatabaseAssertions databaseAssertions;
+
+    @BeforeEach
+    void setUp() {
+        databaseAssertions = new DatabaseAssertions();
+    }
+
+    @Test
+    @DisplayName("Map snake_case columns to record components")
+    @Description("Test maps a row with snake_case column labels to a record through its canonical constructor")
+    @Story("Record Mapping")
+    void testRecordMapping() throws SQLException {
+        // Arrange
+        ResultSet row = row(new String[]{"id", "customer_name", "quantity", "paid"}, new Object[]{7L, "Test User", 3, true});
+
+        // Act
+        Order order = RowMapper.of(Order.class, row.getMetaData()).map(row);
+
+        // Assert
+        databaseAssertions.assertRowMapped(order, new Order(7L, "Test User", 3, true));
+    }
+
+    @Test
+    @DisplayName("Map NULL and missing columns to default values")
+    @Description("Test maps NULL columns to primitive defaults and leaves components without a column at their default")
+    @Story("Record Mapping")
+    void testNullAndMissingColumns() throws SQLException {
+        // Arrange
+        ResultSet row = row(new String[]{"ID", "CustomerName", "quantity"}, new Object[]{1L, null, null});
+
+        // Act
+        Order order = RowMapper.of(Order.class, row.getMetaData()).map(row);
+
+        // Assert
+        databaseAssertions.assertRowMapped(order, new Order(1L, null, 0, false));
+    }
+
+    @Test
+    @DisplayName("Map columns to fields of a class and its superclass")
+    @Description("Test maps a row to a class with a no-arg constructor, including fields declared by its superclass")
+    @Story("Field Mapping")
+    void testFieldMapping() throws SQLException {
+        // Arrange
+        ResultSet row = row(new String[]{"id", "customer_name", "quantity", "amount"},
+                new Object[]{9L, "Test User", null, 12.5});
+
+        // Act
+        OrderEntity entity = RowMapper.of(OrderEntity.class, row.getMetaData()).map(row);
+
+        // Assert
+        databaseAssertions.assertFieldMapped(((BaseEntity) entity).id, 9L, "id");
+        databaseAssertions.assertFieldMapped(entity.customerName, "Test User", "customerName");
+        databaseAssertions.assertFieldMapped(entity.quantity, 0, "quantity");
+        databaseAssertions.assertFieldMapped(entity.amount, 12.5, "amount");
+    }
+
+    @Test
+    @DisplayName("Leave fields without a column untouched")
+    @Description("Test maps a row that has no column for some fields of the class")
+    @Story("Field Mapping")
+    void testMissingFieldColumns() throws SQLException {
+        // Arrange
+        ResultSet row = row(new String[]{"customer_name"}, new Object[]{"Test User"});
+
+        // Act
+        OrderEntity entity = RowMapper.of(OrderEntity.class, row.getMetaData()).map(row);
+
+        // Assert
+        databaseAssertions.assertFieldMapped(entity.customerName, "Test User", "customerName");
+        databaseAssertions.assertFieldMapped(entity.amount, null, "amount");
+        databaseAssertions.assertFieldMapped(((BaseEntity) entity).id, 0L, "id");
+    }
+
+    @Test
+    @DisplayName("Map char and byte columns")
+    @Description("Test maps single-character strings to char and Character and small integers to byte and Byte, NULL included")
+    @Story("Record Mapping")
+    void testCharAndByteMapping() throws SQLException {
+        // Arrange
+        ResultSet row = row(new String[]{"grade", "code", "level", "rank"}, new Object[]{"A", null, (byte) 3, null});
+
+        // Act
+        Grade grade = RowMapper.of(Grade.class, row.getMetaData()).map(row);
+
+        // Assert
+        databaseAssertions.assertRowMapped(grade, new Grade('A', null, (byte) 3, null));
+    }
+
+    /**
+     * Single-row ResultSet stub, null values are SQL NULL
+     */
+    private static ResultSet row(String[] labels, Object[] values) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(RowMapperTest.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> labels.length;
+                    case "getColumnLabel" -> labels[(int) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        boolean[] wasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(RowMapperTest.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getMetaData")) {
+                        return metaData;
+                    }
+                    if (method.getName().equals("wasNull")) {
+                        return wasNull[0];
+                    }
+                    Object value = values[(int) args[0] - 1];
+                    wasNull[0] = value == null;
+                    return switch (method.getName()) {
+                        case "getByte" -> value == null ? (byte) 0 : value;
+                        case "getInt" -> value == null ? 0 : value;
+                        case "getLong" -> value == null ? 0L : value;
+                        case "getDouble" -> value == null ? 0d : value;
+                        case "getBoolean" -> value != null && (boolean) value;
+                        case "getString", "getObject" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
@@ -0,0 +1,154 @@
+package tests.kafka;
+
+import assertion.KafkaAssertions;
+import clients.KafkaBrokerClient;
+import clients.KafkaLoadGenerator;
+import clients.base.kafka.impl.InMemoryBrokerImpl;
+import clients.base.kafka.metrics.InstrumentedBroker;
+import clients.base.kafka.metrics.KafkaMetrics;
+import clients.base.kafka.metrics.LogMetricsSink;
+import clients.base.kafka.model.LoadReport;
+import clients.base.kafka.model.ProducerRecordSpec;
+import clients.base.kafka.model.SendResult;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@Epic("Kafka Tests")
+@Feature("In-Memory Broker")
+public class InMemoryKafkaTest {
+
+    private KafkaBrokerClient brokerClient;
+    private InstrumentedBroker broker;
+    private KafkaMetrics metrics;
+    private KafkaAssertions kafkaAssertions;
+    private final String kafkaUrl = "in-memory";
+    private final String topic = "test-topic";
+
+    @BeforeEach
+    void setUp() {
+        InMemoryBrokerImpl inMemoryBroker = new InMemoryBrokerImpl();
+        metrics = new KafkaMetrics(new LogMetricsSink(), () -> inMemoryBroker.metrics(kafkaUrl), 0);
+        broker = new InstrumentedBroker(inMemoryBroker, metrics);
+        brokerClient = new KafkaBrokerClient(broker);
+        kafkaAssertions = new KafkaAssertions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.attachToAllure();
+        metrics.close();
+    }
+
+    @Test
+    @DisplayName("Send and receive message from in-memory broker")
+    @Description("Test sends a message to the in-memory broker and verifies it can be received by requestId, key and time")
+    @Story("In-Memory Messaging")
+    void testSendAndReceiveMessage() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        String message = "{\"id\":\"" + key + "\",\"message\":\"Test message\"}";
+        List<Header> headers = List.of(
+            new RecordHeader("requestId", key.getBytes())
+        );
+        Instant sentAt = Instant.now();
+
+        // Act
+        brokerClient.sendMessage(kafkaUrl, topic, key, headers, message);
+
+        // Assert
+        kafkaAssertions.assertMessageWithPayloadReceived(brokerClient.getMessages(kafkaUrl, topic, key), message, topic);
+        kafkaAssertions.assertMessageWithPayloadReceived(brokerClient.getMessages(kafkaUrl, topic, key, key), message, topic);
+        kafkaAssertions.assertMessageWithPayloadReceived(brokerClient.getMessages(kafkaUrl, topic, key, sentAt), message, topic);
+        kafkaAssertions.assertMessageWithKeyReceived(
+            brokerClient.streamMessages(kafkaUrl, topic, sentAt).map(ConsumerRecord::value), key, topic);
+    }
+
+    @Test
+    @DisplayName("Receive messages from in-memory broker without a start time")
+    @Description("Test sends a message and verifies it is received by requestId and by key when since is null")
+    @Story("In-Memory Messaging")
+    void testReceiveMessageWithoutSince() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        String message = "{\"id\":\"" + key + "\",\"message\":\"Test message\"}";
+        List<Header> headers = List.of(
+            new RecordHeader("requestId", key.getBytes())
+        );
+
+        // Act
+        brokerClient.sendMessage(kafkaUrl, topic, key, headers, message);
+
+        // Assert
+        kafkaAssertions.assertMessageWithPayloadReceived(brokerClient.getMessages(kafkaUrl, topic, key, (Instant) null), message, topic);
+        kafkaAssertions.assertMessageWithPayloadReceived(brokerClient.getMessages(kafkaUrl, topic, key, key, null), message, topic);
+    }
+
+    @Test
+    @DisplayName("Reject a keyed lookup without a key")
+    @Description("Test verifies that looking up messages by a null key fails with a clear IllegalArgumentException")
+    @Story("In-Memory Messaging")
+    void testKeyedLookupWithoutKey() {
+        // Arrange
+        String requestId = UUID.randomUUID().toString();
+
+        // Act & Assert
+        kafkaAssertions.assertLookupRejected(
+            () -> brokerClient.getMessages(kafkaUrl, topic, null, requestId), "Key must not be null");
+        kafkaAssertions.assertLookupRejected(
+            () -> brokerClient.getMessages(kafkaUrl, topic, null, requestId, Instant.now()), "Key must not be null");
+    }
+
+    @Test
+    @DisplayName("Send a batch of messages to in-memory broker and drain it")
+    @Description("Test sends a batch of messages and verifies all of them are acknowledged and drained from the topic")
+    @Story("In-Memory Messaging")
+    void testSendBatchAndDrain() {
+        // Arrange
+        String drainTopic = "drain-topic-" + UUID.randomUUID();
+        List<ProducerRecordSpec> records = IntStream.range(0, 10_000)
+            .mapToObj(i -> new ProducerRecordSpec(String.valueOf(i), "message " + i))
+            .toList();
+
+        // Act
+        List<SendResult> results = brokerClient.sendMessages(kafkaUrl, drainTopic, records);
+
+        // Assert
+        kafkaAssertions.assertBatchAcknowledged(results, records.size(), drainTopic);
+        kafkaAssertions.assertMessagesCount(
+            brokerClient.drainMessages(kafkaUrl, drainTopic, null).map(ConsumerRecord::value), records.size(), drainTopic);
+        kafkaAssertions.assertPollsRecorded(metrics.snapshot(), records.size(), drainTopic);
+    }
+
+    @Test
+    @DisplayName("Run a load of a fractional duration against in-memory broker")
+    @Description("Test runs the load generator for 1.5 seconds with the topic as its own output and verifies "
+        + "every scheduled record is sent, received and has its latencies recorded")
+    @Story("In-Memory Load Generation")
+    void testLoadGenerator() {
+        // Arrange
+        String loadTopic = "load-topic-" + UUID.randomUUID();
+        KafkaLoadGenerator generator = new KafkaLoadGenerator(broker);
+
+        // Act
+        LoadReport report = generator.run(kafkaUrl, loadTopic, loadTopic, 200, Duration.ofMillis(1500),
+            requestId -> "{\"id\":\"" + requestId + "\"}");
+
+        // Assert
+        kafkaAssertions.assertLoadReport(report, 300);
+    }
+}
@@ -3,10 +3,13 @@ package tests.kafka;
 import assertion.KafkaAssertions;
 import clients.KafkaBrokerClient;
 import clients.base.kafka.impl.KafkaImpl;
+import clients.base.kafka.model.ProducerRecordSpec;
+import clients.base.kafka.model.SendResult;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +18,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static config.PropsConfig.getProps;
@@ -56,6 +61,75 @@ public class KafkaTest {
         kafkaAssertions.assertMessageWithKeyReceived(messages, key, topic);
     }
 
+    @Test
+    @DisplayName("Stream messages from Kafka until the expected one arrives")
+    @Description("Test sends a message and verifies it on a message stream that stops at the first match")
+    @Story("Basic Kafka Messaging")
+    void testStreamMessageUntilMatch() {
+        // Arrange
+        String topic = "test-topic";
+        String key = UUID.randomUUID().toString();
+        String message = "{\"id\":\"" + key + "\",\"message\":\"Streamed message\"}";
+        List<Header> headers = List.of(
+            new RecordHeader("requestId", key.getBytes())
+        );
+        Instant sentAt = Instant.now();
+
+        // Act
+        brokerClient.sendMessage(kafkaUrl, topic, key, headers, message);
+
+        // Assert
+        kafkaAssertions.assertMessageWithKeyReceived(
+            brokerClient.streamMessages(kafkaUrl, topic, sentAt).map(ConsumerRecord::value), key, topic);
+    }
+
+    @Test
+    @DisplayName("Receive message from the partition of its key")
+    @Description("Test sends a keyed message and reads it back from the single partition the key maps to")
+    @Story("Basic Kafka Messaging")
+    void testReceiveMessageFromKeyPartition() {
+        // Arrange
+        String topic = "test-topic";
+        String key = UUID.randomUUID().toString();
+        String requestId = UUID.randomUUID().toString();
+        String message = "{\"id\":\"" + requestId + "\",\"message\":\"Keyed message\"}";
+        List<Header> headers = List.of(
+            new RecordHeader("requestId", requestId.getBytes())
+        );
+
+        // Act
+        brokerClient.sendMessage(kafkaUrl, topic, key, headers, message);
+
+        // Assert
+        List<String> messages = brokerClient.getMessages(kafkaUrl, topic, key, requestId);
+        kafkaAssertions.assertMessageWithPayloadReceived(messages, message, topic);
+    }
+
+    @Test
+    @DisplayName("Send a batch of messages to Kafka")
+    @Description("Test sends a batch of messages in one call and verifies every record is acknowledged")
+    @Story("Batch Kafka Messaging")
+    void testSendBatchOfMessages() {
+        // Arrange
+        String topic = "test-topic";
+        List<String> keys = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        List<ProducerRecordSpec> records = keys.stream()
+            .map(key -> new ProducerRecordSpec(
+                key,
+                List.of(new RecordHeader("requestId", key.getBytes())),
+                "{\"id\":\"" + key + "\",\"message\":\"Batch message\"}"))
+            .toList();
+
+        // Act
+        List<SendResult> results = brokerClient.sendMessages(kafkaUrl, topic, records);
+
+        // Assert
+        kafkaAssertions.assertBatchAcknowledged(results, records.size(), topic);
+        String lastKey = keys.get(keys.size() - 1);
+        List<String> messages = brokerClient.getMessages(kafkaUrl, topic, lastKey);
+        kafkaAssertions.assertMessageWithKeyReceived(messages, lastKey, topic);
+    }
+
     @ParameterizedTest(name = "Send message with payload: {0}")
     @MethodSource("getKafkaTestData")
     @DisplayName("Send different message payloads to Kafka")
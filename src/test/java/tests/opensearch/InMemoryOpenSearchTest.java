@@ -0,0 +1,201 @@
+package tests.opensearch;
+
+import assertion.OpenSearchAssertions;
+import clients.OpenSearchClient;
+import clients.base.opensearch.impl.InMemoryOpenSearchImpl;
+import clients.base.opensearch.model.Bucket;
+import clients.base.opensearch.model.BulkIndexResult;
+import clients.base.opensearch.model.FieldStats;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Epic("OpenSearch Tests")
+@Feature("In-Memory OpenSearch")
+public class InMemoryOpenSearchTest {
+
+    private OpenSearchClient openSearchClient;
+    private OpenSearchAssertions openSearchAssertions;
+    private final String testIndex = "test-index";
+
+    @BeforeEach
+    void setUp() {
+        openSearchClient = new OpenSearchClient(new InMemoryOpenSearchImpl());
+        openSearchAssertions = new OpenSearchAssertions();
+    }
+
+    @Test
+    @DisplayName("Index, retrieve and delete document in in-memory OpenSearch")
+    @Description("Test indexes a document, verifies it can be retrieved, then deletes it and verifies it's no longer available")
+    @Story("In-Memory Document Lifecycle")
+    void testDocumentLifecycle() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        String document = "{\"id\":\"" + id + "\",\"message\":\"Test message\"}";
+
+        // Act
+        boolean indexResult = openSearchClient.indexDocument(testIndex, id, document);
+        String retrievedDocument = openSearchClient.getDocument(testIndex, id);
+
+        // Assert
+        openSearchAssertions.assertDocumentIndexed(indexResult, id);
+        openSearchAssertions.assertDocumentMatches(retrievedDocument, document, id);
+
+        // Act
+        boolean deleteResult = openSearchClient.deleteDocument(testIndex, id);
+
+        // Assert
+        openSearchAssertions.assertDocumentDeleted(deleteResult, id);
+        openSearchAssertions.assertDocumentNotAvailable(openSearchClient.getDocument(testIndex, id), id);
+        openSearchAssertions.assertSearchResultsEmpty(
+                openSearchClient.searchDocuments(testIndex, "{\"term\":{\"id\":\"" + id + "\"}}"));
+    }
+
+    @Test
+    @DisplayName("Search in-memory OpenSearch with term, match and bool queries")
+    @Description("Test indexes documents and verifies term, match and bool queries find the expected document")
+    @Story("In-Memory Query Operations")
+    void testSearchDocuments() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        String otherId = UUID.randomUUID().toString();
+        openSearchClient.indexDocument(testIndex, id,
+                "{\"id\":\"" + id + "\",\"status\":\"active\",\"message\":\"Searchable test message\"}");
+        openSearchClient.indexDocument(testIndex, otherId,
+                "{\"id\":\"" + otherId + "\",\"status\":\"inactive\",\"message\":\"Another test message\"}");
+        String boolQuery = "{\"bool\":{"
+                + "\"must\":[{\"match\":{\"message\":\"searchable\"}}],"
+                + "\"filter\":[{\"term\":{\"status.keyword\":\"active\"}}],"
+                + "\"must_not\":[{\"term\":{\"id\":\"" + otherId + "\"}}]}}";
+
+        // Act
+        List<String> termResults = openSearchClient.searchDocuments(testIndex, "{\"term\":{\"id\":\"" + id + "\"}}");
+        List<String> matchResults = openSearchClient.searchDocuments(testIndex,
+                "{\"match\":{\"message\":{\"query\":\"searchable message\",\"operator\":\"and\"}}}");
+        List<String> boolResults = openSearchClient.searchDocuments(testIndex, boolQuery);
+
+        // Assert
+        openSearchAssertions.assertSearchResults(termResults, id);
+        openSearchAssertions.assertSearchResults(matchResults, id);
+        openSearchAssertions.assertSearchResults(boolResults, id);
+    }
+
+    @Test
+    @DisplayName("Bulk index and stream documents from in-memory OpenSearch")
+    @Description("Test bulk indexes documents, retrieves them by ID and streams all of them back")
+    @Story("In-Memory Bulk Operations")
+    void testBulkIndexAndStreamDocuments() {
+        // Arrange
+        String batchIndex = "batch-index-" + UUID.randomUUID();
+        int count = 10_000;
+        Stream<Map.Entry<String, String>> documents = IntStream.range(0, count)
+                .mapToObj(i -> Map.entry(String.valueOf(i), "{\"id\":\"" + i + "\",\"message\":\"Bulk message " + i + "\"}"));
+
+        // Act
+        BulkIndexResult result = openSearchClient.indexDocuments(batchIndex, documents);
+        List<String> ids = List.of("0", String.valueOf(count / 2), String.valueOf(count - 1));
+        Map<String, String> retrievedDocuments = openSearchClient.getDocuments(batchIndex, ids);
+
+        // Assert
+        openSearchAssertions.assertBulkIndexed(result, count);
+        openSearchAssertions.assertDocumentsRetrieved(retrievedDocuments, ids);
+        try (Stream<String> stream = openSearchClient.streamDocuments(batchIndex, "{\"match\":{\"message\":\"bulk\"}}")) {
+            openSearchAssertions.assertDocumentsCount(stream, count);
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk index documents without IDs into in-memory OpenSearch")
+    @Description("Test bulk indexes documents without IDs and verifies they are indexed and failures are keyed by generated placeholders")
+    @Story("In-Memory Bulk Operations")
+    void testBulkIndexWithoutIds() {
+        // Arrange
+        String batchIndex = "batch-index-" + UUID.randomUUID();
+        Stream<Map.Entry<String, String>> documents = Stream.of(
+                new AbstractMap.SimpleEntry<>(null, "{\"message\":\"Generated first\"}"),
+                new AbstractMap.SimpleEntry<>(null, "[\"not an object\"]"),
+                new AbstractMap.SimpleEntry<>(null, "{\"message\":\"Generated second\"}"));
+
+        // Act
+        BulkIndexResult result = openSearchClient.indexDocuments(batchIndex, documents);
+
+        // Assert
+        openSearchAssertions.assertBulkIndexedWithFailures(result, 2, List.of(BulkIndexResult.GENERATED_ID_PREFIX + 1));
+        try (Stream<String> stream = openSearchClient.streamDocuments(batchIndex, "{\"match\":{\"message\":\"generated\"}}")) {
+            openSearchAssertions.assertDocumentsCount(stream, 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Count and aggregate documents in in-memory OpenSearch")
+    @Description("Test indexes documents and verifies count, terms, date histogram and stats aggregations")
+    @Story("In-Memory Aggregations")
+    void testCountAndAggregate() {
+        // Arrange
+        String statsIndex = "stats-index-" + UUID.randomUUID();
+        openSearchClient.indexDocument(statsIndex, "1", "{\"status\":\"ok\",\"latency\":10,\"date\":\"2023-06-01T10:15:00Z\"}");
+        openSearchClient.indexDocument(statsIndex, "2", "{\"status\":\"ok\",\"latency\":20,\"date\":\"2023-06-01T18:40:00Z\"}");
+        openSearchClient.indexDocument(statsIndex, "3", "{\"status\":\"error\",\"latency\":60,\"date\":\"2023-06-02T09:00:00Z\"}");
+        openSearchClient.indexDocument(statsIndex, "4", "{\"status\":\"pending\",\"latency\":30,\"date\":\"not a date\"}");
+
+        // Act
+        long okCount = openSearchClient.count(statsIndex, "{\"term\":{\"status\":\"ok\"}}");
+        List<Bucket> statusBuckets = openSearchClient.termsAggregation(statsIndex, null, "status.keyword", 10);
+        List<Bucket> dailyBuckets = openSearchClient.dateHistogram(statsIndex, null, "date", "1d");
+        List<Bucket> weeklyBuckets = openSearchClient.dateHistogram(statsIndex, null, "date", "1w");
+        List<Bucket> monthlyBuckets = openSearchClient.dateHistogram(statsIndex, null, "date", "1M");
+        FieldStats latencyStats = openSearchClient.stats(statsIndex, null, "latency");
+
+        // Assert
+        openSearchAssertions.assertDocumentsCount(okCount, 2);
+        openSearchAssertions.assertBuckets(statusBuckets,
+                List.of(new Bucket("ok", 2), new Bucket("error", 1), new Bucket("pending", 1)));
+        openSearchAssertions.assertBuckets(dailyBuckets, List.of(
+                new Bucket("2023-06-01T00:00:00.000Z", 2),
+                new Bucket("2023-06-02T00:00:00.000Z", 1)));
+        openSearchAssertions.assertBuckets(weeklyBuckets, List.of(new Bucket("2023-05-29T00:00:00.000Z", 3)));
+        openSearchAssertions.assertBuckets(monthlyBuckets, List.of(new Bucket("2023-06-01T00:00:00.000Z", 3)));
+        openSearchAssertions.assertStats(latencyStats, 10, 60, 30);
+    }
+
+    @Test
+    @DisplayName("Replace documents and search with minimum_should_match in in-memory OpenSearch")
+    @Description("Test replaces every document of an index and verifies searches see only the latest versions, "
+            + "including bool queries with a percentage minimum_should_match")
+    @Story("In-Memory Query Operations")
+    void testReplaceAndMinimumShouldMatch() {
+        // Arrange
+        String replaceIndex = "replace-index-" + UUID.randomUUID();
+        int count = 600;
+        for (String version : List.of("old", "new")) {
+            IntStream.range(0, count).forEach(i -> openSearchClient.indexDocument(replaceIndex, String.valueOf(i),
+                    "{\"version\":\"" + version + "\",\"color\":\"" + (i % 2 == 0 ? "red" : "blue")
+                            + "\",\"size\":\"" + (i % 3 == 0 ? "large" : "small") + "\"}"));
+        }
+        String shouldQuery = "{\"bool\":{\"should\":["
+                + "{\"term\":{\"color\":\"red\"}},"
+                + "{\"term\":{\"size\":\"large\"}}],"
+                + "\"minimum_should_match\":\"100%\"}}";
+
+        // Act
+        long oldCount = openSearchClient.count(replaceIndex, "{\"term\":{\"version\":\"old\"}}");
+        long newCount = openSearchClient.count(replaceIndex, "{\"term\":{\"version\":\"new\"}}");
+        long bothCount = openSearchClient.count(replaceIndex, shouldQuery);
+
+        // Assert
+        openSearchAssertions.assertDocumentsCount(oldCount, 0);
+        openSearchAssertions.assertDocumentsCount(newCount, count);
+        openSearchAssertions.assertDocumentsCount(bothCount, count / 6);
+    }
+}
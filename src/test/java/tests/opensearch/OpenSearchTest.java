@@ -2,7 +2,11 @@ package tests.opensearch;
 
 import assertion.OpenSearchAssertions;
 import clients.OpenSearchClient;
+import clients.base.opensearch.cache.DocumentCache;
 import clients.base.opensearch.impl.OpenSearchImpl;
+import clients.base.opensearch.model.BulkIndexResult;
+import clients.base.opensearch.model.RefreshPolicy;
+import clients.base.opensearch.model.SearchOptions;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -13,8 +17,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Epic("OpenSearch Tests")
@@ -75,6 +83,29 @@ public class OpenSearchTest {
         openSearchAssertions.assertSearchResults(searchResults, id);
     }
 
+    @Test
+    @DisplayName("Search documents with source filtering")
+    @Description("Test searches for documents returning selected fields only, as strings and as raw bytes")
+    @Story("OpenSearch Query Operations")
+    void testSearchDocumentsWithSourceFiltering() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        String document = "{\"id\":\"" + id + "\",\"message\":\"Large payload\"}";
+        openSearchClient.indexDocument(testIndex, id, document);
+        String query = "{\"term\":{\"id\":\"" + id + "\"}}";
+        SearchOptions options = SearchOptions.includes("id").withSize(1);
+
+        // Act
+        List<String> searchResults = openSearchClient.searchDocuments(testIndex, query, options);
+        List<String> rawResults = openSearchClient.searchDocumentsRaw(testIndex, query, options).stream()
+                .map(buffer -> StandardCharsets.UTF_8.decode(buffer).toString())
+                .toList();
+
+        // Assert
+        openSearchAssertions.assertSearchResultsFiltered(searchResults, id, "message");
+        openSearchAssertions.assertSearchResultsFiltered(rawResults, id, "message");
+    }
+
     @Test
     @DisplayName("Delete document from OpenSearch")
     @Description("Test deletes a document from OpenSearch and verifies it's no longer available")
@@ -100,6 +131,135 @@ public class OpenSearchTest {
         openSearchAssertions.assertDocumentNotAvailable(retrievedDocument, id);
     }
 
+    @Test
+    @DisplayName("Bulk index documents in OpenSearch")
+    @Description("Test indexes a stream of documents through the bulk API and verifies all of them can be retrieved")
+    @Story("OpenSearch Bulk Operations")
+    void testBulkIndexDocuments() {
+        // Arrange
+        String batchId = UUID.randomUUID().toString();
+        int count = 1000;
+        Stream<Map.Entry<String, String>> documents = IntStream.range(0, count)
+            .mapToObj(i -> Map.entry(batchId + "-" + i, "{\"id\":\"" + batchId + "-" + i + "\",\"message\":\"Bulk message\"}"));
+
+        // Act
+        BulkIndexResult result = openSearchClient.indexDocuments(testIndex, documents);
+
+        // Assert
+        openSearchAssertions.assertBulkIndexed(result, count);
+
+        // Act
+        List<String> ids = IntStream.range(0, count).mapToObj(i -> batchId + "-" + i).toList();
+        Map<String, String> retrievedDocuments = openSearchClient.getDocuments(testIndex, ids);
+
+        // Assert
+        openSearchAssertions.assertDocumentsRetrieved(retrievedDocuments, ids);
+    }
+
+    @Test
+    @DisplayName("Stream documents from OpenSearch page by page")
+    @Description("Test indexes documents and streams them back through a point in time, sequentially and in slices")
+    @Story("OpenSearch Bulk Operations")
+    void testStreamDocuments() {
+        // Arrange
+        String streamIndex = "stream-index-" + UUID.randomUUID();
+        int count = 250;
+        IntStream.range(0, count).forEach(i -> openSearchClient.indexDocument(streamIndex, String.valueOf(i),
+            "{\"id\":\"" + i + "\",\"message\":\"Streamed message " + i + "\"}"));
+        String query = "{\"match\":{\"message\":\"streamed\"}}";
+
+        // Act & Assert
+        try (Stream<String> stream = openSearchClient.streamDocuments(streamIndex, query, 40, 1)) {
+            openSearchAssertions.assertDocumentsCount(stream, count);
+        }
+        try (Stream<String> stream = openSearchClient.streamDocuments(streamIndex, query, 40, 3)) {
+            openSearchAssertions.assertDocumentsCount(stream, count);
+        }
+    }
+
+    @Test
+    @DisplayName("Index and retrieve documents from OpenSearch asynchronously")
+    @Description("Test indexes documents in parallel without blocking and verifies they can be retrieved in parallel and searched with source filtering")
+    @Story("OpenSearch Async Operations")
+    void testIndexAndGetDocumentsAsync() {
+        // Arrange
+        List<String> ids = IntStream.range(0, 20).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        // Act
+        List<CompletableFuture<Boolean>> indexResults = ids.stream()
+            .map(id -> openSearchClient.indexDocumentAsync(testIndex, id, "{\"id\":\"" + id + "\",\"message\":\"Async message\"}"))
+            .toList();
+
+        // Assert
+        for (int i = 0; i < ids.size(); i++) {
+            openSearchAssertions.assertDocumentIndexed(indexResults.get(i).join(), ids.get(i));
+        }
+
+        // Act
+        List<CompletableFuture<String>> documents = ids.stream()
+            .map(id -> openSearchClient.getDocumentAsync(testIndex, id))
+            .toList();
+
+        // Assert
+        for (int i = 0; i < ids.size(); i++) {
+            openSearchAssertions.assertDocumentRetrieved(documents.get(i).join(), ids.get(i));
+        }
+
+        // Act
+        List<String> filtered = openSearchClient.searchDocumentsAsync(
+            testIndex, "{\"ids\":{\"values\":[\"" + ids.get(0) + "\"]}}", SearchOptions.includes("id")).join();
+
+        // Assert
+        openSearchAssertions.assertSearchResultsFiltered(filtered, ids.get(0), "message");
+    }
+
+    @Test
+    @DisplayName("Wait for a document indexed without refresh")
+    @Description("Test indexes a document without waiting for a refresh and waits for it with a realtime GET")
+    @Story("OpenSearch Document Lifecycle")
+    void testAwaitVisibleDocument() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        String document = "{\"id\":\"" + id + "\",\"message\":\"Not yet refreshed message\"}";
+
+        // Act
+        boolean indexResult = openSearchClient.indexDocument(testIndex, id, document, RefreshPolicy.NONE);
+        openSearchClient.awaitVisible(testIndex, id);
+        String retrievedDocument = openSearchClient.getDocument(testIndex, id);
+
+        // Assert
+        openSearchAssertions.assertDocumentIndexed(indexResult, id);
+        openSearchAssertions.assertDocumentMatches(retrievedDocument, document, id);
+    }
+
+    @Test
+    @DisplayName("Read documents through the document cache")
+    @Description("Test reads a document repeatedly with the cache enabled and verifies only the first read misses")
+    @Story("OpenSearch Document Cache")
+    void testCachedGetDocument() {
+        // Arrange
+        OpenSearchClient cachedClient = new OpenSearchClient(new OpenSearchImpl(), new DocumentCache(true, 100, 60_000));
+        String id = UUID.randomUUID().toString();
+        String document = "{\"id\":\"" + id + "\",\"message\":\"Cached message\"}";
+        openSearchClient.indexDocument(testIndex, id, document);
+
+        // Act
+        String firstRead = cachedClient.getDocument(testIndex, id);
+        String secondRead = cachedClient.getDocument(testIndex, id);
+
+        // Assert
+        openSearchAssertions.assertDocumentMatches(firstRead, document, id);
+        openSearchAssertions.assertDocumentMatches(secondRead, document, id);
+        openSearchAssertions.assertCacheHits(cachedClient.cacheHits(), 1);
+
+        // Act - Delete through the cached client
+        cachedClient.deleteDocument(testIndex, id);
+        String deletedRead = cachedClient.getDocument(testIndex, id);
+
+        // Assert
+        openSearchAssertions.assertDocumentNotAvailable(deletedRead, id);
+    }
+
     @ParameterizedTest(name = "Index document with payload: {0}")
     @MethodSource("getOpenSearchTestData")
     @DisplayName("Index different document payloads to OpenSearch")